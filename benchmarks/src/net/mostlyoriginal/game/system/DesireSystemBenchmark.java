@@ -0,0 +1,47 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.E;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.artemis.E.E;
+
+/**
+ * Cost of every visitor picking a facility to hunt, once per tick.
+ *
+ * @author Daan van Yperen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DesireSystemBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int visitors;
+
+    private VisitorWorld visitorWorld;
+    private DesireSystem desireSystem;
+
+    @Setup
+    public void setup() {
+        visitorWorld = new VisitorWorld(visitors);
+        desireSystem = visitorWorld.world.getSystem(DesireSystem.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        visitorWorld.dispose();
+    }
+
+    @Benchmark
+    public void startHunt() {
+        final int[] ids = visitorWorld.visitors.getData();
+        for (int i = 0, s = visitorWorld.visitors.size(); i < s; i++) {
+            desireSystem.startHunt(E(ids[i]));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.E;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.artemis.E.E;
+
+/**
+ * Cost of every visitor taking a step towards its target, once per tick.
+ *
+ * Visitors pace between two markers at either end of the bathroom, so both walking and
+ * arriving visitors are measured. Arrivals only turn around, they never use the markers.
+ *
+ * @author Daan van Yperen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuntSystemBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int visitors;
+
+    private VisitorWorld visitorWorld;
+    private HuntSystem huntSystem;
+    private E left;
+    private E right;
+
+    @Setup
+    public void setup() {
+        visitorWorld = new VisitorWorld(visitors);
+        huntSystem = visitorWorld.world.getSystem(HuntSystem.class);
+        left = E().pos(0, 0).bounds(0, 0, 16, 16);
+        right = E().pos(VisitorWorld.BATHROOM_WIDTH, 0).bounds(0, 0, 16, 16);
+        final int[] ids = visitorWorld.visitors.getData();
+        for (int i = 0, s = visitorWorld.visitors.size(); i < s; i++) {
+            E(ids[i]).huntEntityId(left.id());
+        }
+        visitorWorld.flush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        visitorWorld.dispose();
+    }
+
+    @Benchmark
+    public void move() {
+        huntSystem.move(visitorWorld.visitors, VisitorWorld.TICK);
+        for (int i = 0, s = huntSystem.walkers(); i < s; i++) {
+            if (huntSystem.hasArrived(i)) {
+                E visitor = E(huntSystem.walker(i));
+                visitor.huntEntityId(visitor.huntEntityId() == left.id() ? right.id() : left.id());
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.E;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.artemis.E.E;
+
+/**
+ * Cost of one {@link UseSystem} tick with every visitor occupying a toilet.
+ *
+ * Each visitor gets a stall of its own that takes forever to use, so occupancy stays constant
+ * between invocations.
+ *
+ * @author Daan van Yperen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UseSystemBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int visitors;
+
+    private VisitorWorld visitorWorld;
+    private UseSystem useSystem;
+
+    @Setup
+    public void setup() {
+        visitorWorld = new VisitorWorld(visitors);
+        useSystem = visitorWorld.world.getSystem(UseSystem.class);
+        AnimHandleService animHandles = visitorWorld.world.getSystem(AnimHandleService.class);
+
+        final int[] ids = visitorWorld.visitors.getData();
+        for (int i = 0, s = visitorWorld.visitors.size(); i < s; i++) {
+            E visitor = E(ids[i]);
+            E stall = E()
+                    .pos(visitor.posX(), visitor.posY())
+                    .bounds(2, 0, 24, 32)
+                    .anim("module_part_door_closed")
+                    .interactable(animHandles.handle("module_part_door_closed"), animHandles.handle("module_part_door_open"))
+                    .interactableDuration(Float.MAX_VALUE)
+                    .toilet();
+            useSystem.startUsing(visitor, stall);
+        }
+        visitorWorld.flush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        visitorWorld.dispose();
+    }
+
+    @Benchmark
+    public void process() {
+        useSystem.process();
+    }
+}
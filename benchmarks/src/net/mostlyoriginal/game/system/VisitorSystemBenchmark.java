@@ -0,0 +1,41 @@
+package net.mostlyoriginal.game.system;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link VisitorSystem} tick, picking the animation of every visitor.
+ *
+ * @author Daan van Yperen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisitorSystemBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int visitors;
+
+    private VisitorWorld visitorWorld;
+    private VisitorSystem visitorSystem;
+
+    @Setup
+    public void setup() {
+        visitorWorld = new VisitorWorld(visitors);
+        visitorSystem = visitorWorld.world.getSystem(VisitorSystem.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        visitorWorld.dispose();
+    }
+
+    @Benchmark
+    public void process() {
+        visitorSystem.process();
+    }
+}
@@ -0,0 +1,64 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.BaseSystem;
+import com.artemis.World;
+import com.artemis.utils.ImmutableBag;
+import com.artemis.utils.IntBag;
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.simulation.Simulation;
+import net.mostlyoriginal.game.util.RandomStream;
+
+/**
+ * Headless bathroom crowded with a fixed number of visitors, for benchmarking.
+ *
+ * Visitors are spawned by {@link EntranceSystem}, spread over the width of the bathroom. The world
+ * is seeded with the visitor count, so every run measures the same bathroom. Systems are left
+ * untouched until a benchmark calls them directly.
+ *
+ * @author Daan van Yperen
+ */
+public class VisitorWorld {
+
+    /** First level without a tutorial, so visitors are not held back. */
+    public static final int LEVEL = 2;
+    public static final float TICK = 1f / 60f;
+    public static final int BATHROOM_WIDTH = 600;
+
+    public final Simulation simulation;
+    public final World world;
+    public final IntBag visitors = new IntBag();
+
+    public VisitorWorld(int visitorCount) {
+        simulation = new Simulation(new GameSession(LEVEL), visitorCount);
+        world = simulation.world;
+
+        // let the level setup place the modules.
+        simulation.tick(0);
+
+        EntranceSystem entranceSystem = world.getSystem(EntranceSystem.class);
+        RandomStream random = world.getSystem(RandomService.class).stream("benchmark");
+        for (int i = 0; i < visitorCount; i++) {
+            visitors.add(entranceSystem.spawnVisitor(random.random(0, BATHROOM_WIDTH), LevelSetupSystem.Y_OFFSET).id());
+        }
+        flush();
+        world.setDelta(TICK);
+    }
+
+    /** Apply pending entity changes to all subscriptions, without processing any system. */
+    public void flush() {
+        ImmutableBag<BaseSystem> systems = world.getSystems();
+        boolean[] enabled = new boolean[systems.size()];
+        for (int i = 0; i < systems.size(); i++) {
+            enabled[i] = systems.get(i).isEnabled();
+            systems.get(i).setEnabled(false);
+        }
+        world.process();
+        for (int i = 0; i < systems.size(); i++) {
+            systems.get(i).setEnabled(enabled[i]);
+        }
+    }
+
+    public void dispose() {
+        simulation.dispose();
+    }
+}
@@ -1,7 +1,6 @@
 package net.mostlyoriginal.game.component;
 
 import com.artemis.Component;
-import com.badlogic.gdx.math.MathUtils;
 
 /**
  * @author Daan van Yperen
@@ -15,6 +14,7 @@ public class Desire extends Component {
         PEE,
     }
     public Type type;
-    public int index= MathUtils.random(1,7);
+    public int index = 1; // 1-7, rolled on spawn.
+    public int rehunts = 0; // targets given up after walking to them.
     public void set(Type type) { this.type = type; }
 }
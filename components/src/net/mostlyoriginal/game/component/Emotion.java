@@ -1,7 +1,6 @@
 package net.mostlyoriginal.game.component;
 
 import com.artemis.Component;
-import com.badlogic.gdx.math.MathUtils;
 
 /**
  * @author Daan van Yperen
@@ -15,5 +14,5 @@ public class Emotion extends Component {
         ENRAGED
     }
 
-    public State state = MathUtils.randomBoolean() ? State.HAPPY : State.NEUTRAL;
+    public State state = State.NEUTRAL; // rolled on spawn.
 }
@@ -6,13 +6,13 @@ import com.artemis.Component;
  * @author Daan van Yperen
  */
 public class Interactable extends Component {
-    public String startAnimId;
-    public String endAnimId;
+    public int startAnimId = -1; // AnimHandleService handle.
+    public int endAnimId = -1; // AnimHandleService handle.
     public int useOffsetY = 0;
-    public float cooldownBefore = 0;
+    public float cooldownBefore = 0; // cleared by a timer once cooled down.
     public float duration = 3;
 
-    public void set(String startAnimId, String endAnimId) {
+    public void set(int startAnimId, int endAnimId) {
         this.startAnimId = startAnimId;
         this.endAnimId = endAnimId;
     }
@@ -0,0 +1,23 @@
+package net.mostlyoriginal.game.component;
+
+import com.artemis.Component;
+import com.artemis.annotations.EntityId;
+
+/**
+ * Visitor waiting in line for a facility.
+ *
+ * @author Daan van Yperen
+ */
+public class Queued extends Component {
+    @EntityId
+    public int facilityId = -1;
+
+    /** Number in line for the facility, counting every visitor that ever queued there. */
+    public int ticket;
+
+    public void set(int facilityId, int ticket)
+    {
+        this.facilityId = facilityId;
+        this.ticket = ticket;
+    }
+}
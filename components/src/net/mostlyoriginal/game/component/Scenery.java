@@ -0,0 +1,11 @@
+package net.mostlyoriginal.game.component;
+
+import com.artemis.Component;
+
+/**
+ * Never moves or changes, so it is baked into the static render layer once.
+ *
+ * @author Daan van Yperen
+ */
+public class Scenery extends Component {
+}
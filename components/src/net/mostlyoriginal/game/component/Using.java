@@ -2,7 +2,6 @@ package net.mostlyoriginal.game.component;
 
 import com.artemis.Component;
 import com.artemis.annotations.EntityId;
-import com.badlogic.gdx.math.MathUtils;
 
 /**
  * @author Daan van Yperen
@@ -10,7 +9,7 @@ import com.badlogic.gdx.math.MathUtils;
 public class Using extends Component {
     @EntityId
     public int usingId=-1;
-    public float sfxCooldown= MathUtils.random(0.4f,0.8f);
+    public int sfxTimer = -1; // next using sound, as TimerService handle.
     public int sfxOffset = 1;
 
     public void set(int usingId)
@@ -16,4 +16,8 @@ public class Entrance extends Component {
     public float timeBetweenSpawnsHardest = 2;
     public float age = 0;
     public float maxAge = 120;
+
+    /** Visitors of the current burst still to come out of this entrance. */
+    public int spawnsPending = 0;
+    public float spawnCooldown = 0;
 }
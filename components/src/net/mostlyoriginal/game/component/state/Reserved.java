@@ -0,0 +1,23 @@
+package net.mostlyoriginal.game.component.state;
+
+import com.artemis.Component;
+import com.artemis.annotations.EntityId;
+
+/**
+ * Facility claimed by a visitor on the way to use it.
+ *
+ * @author Daan van Yperen
+ */
+public class Reserved extends Component {
+    @EntityId
+    public int visitorId = -1;
+
+    /** Seconds since the reservation was made. */
+    public float age;
+
+    public void set(int visitorId)
+    {
+        this.visitorId = visitorId;
+        this.age = 0;
+    }
+}
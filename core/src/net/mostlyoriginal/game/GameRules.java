@@ -1,7 +1,5 @@
 package net.mostlyoriginal.game;
 
-import com.badlogic.gdx.audio.Music;
-
 /**
  * @author Daan van Yperen
  */
@@ -11,12 +9,16 @@ public abstract class GameRules {
     public static final int PERCENTAGE_CHANCE_OF_URINAL_DIRTY_ESCALATION = 50;
     public static final int PERCENTAGE_CHANCE_OF_TOILET_DIRTY_ESCALATION = 75;
     public static final int WALKING_SPEED_VISITORS = 50;
+    /** Seconds a visitor may hold a facility before others can pick it again. */
+    public static final float RESERVATION_TIMEOUT = 20f;
+    /** Visitors that can wait in line for one facility. */
+    public static final int FACILITY_QUEUE_LENGTH = 4;
+    /** Pixels between visitors waiting in line. */
+    public static final int QUEUE_SPACING = 12;
+
+    /** Seconds per gameplay tick, independent of the display refresh rate. */
+    public static final float LOGIC_STEP = 1f / 60f;
 
     public static final int SCREEN_WIDTH = 1000;
     public static final int SCREEN_HEIGHT = 480;
-
-
-    public static int lastScore = -1;
-    public static int level = -1;
-    public static Music music;
 }
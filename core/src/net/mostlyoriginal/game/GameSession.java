@@ -0,0 +1,47 @@
+package net.mostlyoriginal.game;
+
+import net.mostlyoriginal.game.system.LevelSetupSystem;
+
+/**
+ * Progress of one player through the levels, shared by the worlds of consecutive screens.
+ *
+ * Registered with each world and wired into systems with {@link com.artemis.annotations.Wire}.
+ * Each simulation gets a session of its own, so any number of worlds can run side by side.
+ *
+ * @author Daan van Yperen
+ */
+public class GameSession {
+
+    public static final int NO_SCORE = -1;
+
+    /** How visitors pick between facilities of the same kind. */
+    public enum TargetPolicy {
+        /** Any facility, with equal chance. */
+        RANDOM,
+        /** The facility closest to the visitor. */
+        NEAREST
+    }
+
+    /** Level to play, starting at 1. */
+    public int level;
+    /** Coins collected, or {@link #NO_SCORE} before the first level has been played. */
+    public int lastScore = NO_SCORE;
+    /** Generated level to play instead of the regular levels, like a stress level. */
+    public LevelSetupSystem.Level customLevel;
+    /** Game speed multiplier, for tuning and soak testing. */
+    public float timeWarp = 1;
+    public TargetPolicy targetPolicy = TargetPolicy.RANDOM;
+
+    public GameSession() {
+        this(1);
+    }
+
+    public GameSession(int level) {
+        this.level = level;
+    }
+
+    public GameSession(LevelSetupSystem.Level customLevel) {
+        this(1);
+        this.customLevel = customLevel;
+    }
+}
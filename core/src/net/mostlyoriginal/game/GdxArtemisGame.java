@@ -1,12 +1,24 @@
 package net.mostlyoriginal.game;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+import net.mostlyoriginal.game.replay.ReplayWriter;
 import net.mostlyoriginal.game.screen.LogoScreen;
 
 public class GdxArtemisGame extends Game {
 
 	private static GdxArtemisGame instance;
 
+	/** Outlives screens, so metrics accumulate across levels. */
+	public final MetricsRegistry metrics = new MetricsRegistry();
+	/** Level and score of the player, carried from screen to screen. */
+	public final GameSession session = new GameSession();
+	/** Records every played level when set, for playback with the headless replay player. */
+	public ReplayWriter recorder;
+	private Music music;
+
 	@Override
 	public void create() {
 		instance = this;
@@ -17,6 +29,27 @@ public class GdxArtemisGame extends Game {
 		setScreen(new LogoScreen());
 	}
 
+	@Override
+	public void dispose() {
+		super.dispose();
+		if (recorder != null) {
+			recorder.flush();
+		}
+	}
+
+	/** Loop background music, replacing whatever was playing. */
+	public void playMusic(String path) {
+		if (music != null) {
+			music.stop();
+			music.dispose();
+		}
+		music = Gdx.audio.newMusic(Gdx.files.internal(path));
+		music.stop();
+		music.setLooping(true);
+		music.play();
+		music.setPan(0, 0.1f);
+	}
+
 	public static GdxArtemisGame getInstance()
 	{
 		return instance;
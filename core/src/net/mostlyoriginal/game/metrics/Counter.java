@@ -0,0 +1,37 @@
+package net.mostlyoriginal.game.metrics;
+
+/**
+ * Monotonically increasing count, like visitors spawned.
+ *
+ * @author Daan van Yperen
+ */
+public class Counter extends Metric {
+
+    private long count;
+
+    Counter(String name, String labels) {
+        super(name, labels);
+    }
+
+    public void inc() {
+        count++;
+    }
+
+    public void inc(long amount) {
+        count += amount;
+    }
+
+    public long get() {
+        return count;
+    }
+
+    @Override
+    protected String type() {
+        return "counter";
+    }
+
+    @Override
+    protected void write(StringBuilder out) {
+        writeSample(out, "", null, Long.toString(count));
+    }
+}
@@ -0,0 +1,33 @@
+package net.mostlyoriginal.game.metrics;
+
+/**
+ * Value that goes up and down, like live entity counts.
+ *
+ * @author Daan van Yperen
+ */
+public class Gauge extends Metric {
+
+    private double value;
+
+    Gauge(String name, String labels) {
+        super(name, labels);
+    }
+
+    public void set(double value) {
+        this.value = value;
+    }
+
+    public double get() {
+        return value;
+    }
+
+    @Override
+    protected String type() {
+        return "gauge";
+    }
+
+    @Override
+    protected void write(StringBuilder out) {
+        writeSample(out, "", null, Double.toString(value));
+    }
+}
@@ -0,0 +1,107 @@
+package net.mostlyoriginal.game.metrics;
+
+/**
+ * Distribution of non-negative values, in the style of HdrHistogram.
+ *
+ * Values are counted in log-linear buckets: exact below 64, and 32 buckets per power of two
+ * above that, so any recorded value is reported within about 3%. Memory is fixed and recording
+ * never allocates.
+ *
+ * @author Daan van Yperen
+ */
+public class Histogram extends Metric {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+    /** Quantiles reported by the exporter, 1 being the maximum. */
+    public static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999, 1};
+    private static final String[] QUANTILE_LABELS = {
+            "quantile=\"0.5\"", "quantile=\"0.9\"", "quantile=\"0.99\"", "quantile=\"0.999\"", "quantile=\"1\""};
+
+    private final long[] counts = new long[SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    Histogram(String name, String labels) {
+        super(name, labels);
+    }
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * @param quantile between 0 and 1.
+     * @return upper bound of the bucket holding the given quantile, or 0 when empty.
+     */
+    public long valueAt(double quantile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        count = sum = max = 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + ((int) (value >>> shift) - HALF_SUB_BUCKETS);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int offset = index - SUB_BUCKETS;
+        int shift = offset / HALF_SUB_BUCKETS + 1;
+        long subBucket = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    protected String type() {
+        return "summary";
+    }
+
+    @Override
+    protected void write(StringBuilder out) {
+        for (int i = 0; i < QUANTILES.length; i++) {
+            writeSample(out, "", QUANTILE_LABELS[i], Long.toString(valueAt(QUANTILES[i])));
+        }
+        writeSample(out, "_sum", null, Long.toString(sum));
+        writeSample(out, "_count", null, Long.toString(count));
+    }
+}
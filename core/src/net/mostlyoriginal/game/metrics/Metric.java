@@ -0,0 +1,37 @@
+package net.mostlyoriginal.game.metrics;
+
+/**
+ * Named, optionally labelled value in a {@link MetricsRegistry}.
+ *
+ * @author Daan van Yperen
+ */
+public abstract class Metric {
+
+    public final String name;
+    /** Label in exposition format, like {@code system="HuntSystem"}, or empty. */
+    public final String labels;
+
+    protected Metric(String name, String labels) {
+        this.name = name;
+        this.labels = labels;
+    }
+
+    /** @return metric type in the plain-text exposition format. */
+    protected abstract String type();
+
+    /** Append samples in the plain-text exposition format. */
+    protected abstract void write(StringBuilder out);
+
+    protected void writeSample(StringBuilder out, String suffix, String extraLabel, String value) {
+        out.append(name).append(suffix);
+        if (labels.length() > 0 || extraLabel != null) {
+            out.append('{').append(labels);
+            if (extraLabel != null) {
+                if (labels.length() > 0) out.append(',');
+                out.append(extraLabel);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+}
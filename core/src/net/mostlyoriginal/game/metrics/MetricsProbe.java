@@ -0,0 +1,10 @@
+package net.mostlyoriginal.game.metrics;
+
+/**
+ * Platform specific source of metrics, sampled from the game thread.
+ *
+ * @author Daan van Yperen
+ */
+public interface MetricsProbe {
+    void sample(MetricsRegistry registry);
+}
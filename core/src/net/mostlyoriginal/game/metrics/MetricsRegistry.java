@@ -0,0 +1,120 @@
+package net.mostlyoriginal.game.metrics;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Comparator;
+
+/**
+ * Counters, gauges and histograms by name, with a plain-text exporter.
+ *
+ * Metrics are recorded on the game thread only. Exporters on other threads read the text
+ * snapshot taken by {@link #publish()}, never the live metrics.
+ *
+ * The text follows the Prometheus exposition format, so it can be scraped as is.
+ *
+ * @author Daan van Yperen
+ */
+public class MetricsRegistry {
+
+    private static final Comparator<Metric> BY_NAME = new Comparator<Metric>() {
+        @Override
+        public int compare(Metric a, Metric b) {
+            int result = a.name.compareTo(b.name);
+            return result != 0 ? result : a.labels.compareTo(b.labels);
+        }
+    };
+
+    private final ObjectMap<String, Metric> metrics = new ObjectMap<String, Metric>();
+    private final Array<Metric> sorted = new Array<Metric>();
+    private final Array<MetricsProbe> probes = new Array<MetricsProbe>();
+    private volatile String snapshot = "";
+
+    public Counter counter(String name) {
+        return counter(name, null, null);
+    }
+
+    public Counter counter(String name, String label, String value) {
+        String labels = labels(label, value);
+        Metric metric = metrics.get(key(name, labels));
+        if (metric == null) metric = add(new Counter(name, labels));
+        return (Counter) metric;
+    }
+
+    public Gauge gauge(String name) {
+        return gauge(name, null, null);
+    }
+
+    public Gauge gauge(String name, String label, String value) {
+        String labels = labels(label, value);
+        Metric metric = metrics.get(key(name, labels));
+        if (metric == null) metric = add(new Gauge(name, labels));
+        return (Gauge) metric;
+    }
+
+    public Histogram histogram(String name) {
+        return histogram(name, null, null);
+    }
+
+    public Histogram histogram(String name, String label, String value) {
+        String labels = labels(label, value);
+        Metric metric = metrics.get(key(name, labels));
+        if (metric == null) metric = add(new Histogram(name, labels));
+        return (Histogram) metric;
+    }
+
+    public void addProbe(MetricsProbe probe) {
+        probes.add(probe);
+    }
+
+    /** Let probes record platform metrics, like garbage collection. */
+    public void sample() {
+        for (int i = 0; i < probes.size; i++) {
+            probes.get(i).sample(this);
+        }
+    }
+
+    /** Take a text snapshot for exporters. */
+    public void publish() {
+        snapshot = format();
+    }
+
+    /** @return text as of the last {@link #publish()}. Safe to call from any thread. */
+    public String getSnapshot() {
+        return snapshot;
+    }
+
+    /** @return all metrics in the plain-text exposition format. */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        String lastName = null;
+        for (int i = 0; i < sorted.size; i++) {
+            Metric metric = sorted.get(i);
+            if (!metric.name.equals(lastName)) {
+                out.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+                lastName = metric.name;
+            }
+            metric.write(out);
+        }
+        return out.toString();
+    }
+
+    private Metric add(Metric metric) {
+        metrics.put(key(metric.name, metric.labels), metric);
+        // insert in place, Array#sort shares one sorter between all threads.
+        int index = sorted.size;
+        while (index > 0 && BY_NAME.compare(sorted.get(index - 1), metric) > 0) {
+            index--;
+        }
+        sorted.insert(index, metric);
+        return metric;
+    }
+
+    private static String labels(String label, String value) {
+        return label != null ? label + "=\"" + value + "\"" : "";
+    }
+
+    private static String key(String name, String labels) {
+        return labels.length() > 0 ? name + "{" + labels + "}" : name;
+    }
+}
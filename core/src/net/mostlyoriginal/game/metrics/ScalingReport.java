@@ -0,0 +1,72 @@
+package net.mostlyoriginal.game.metrics;
+
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Frame or tick times grouped by live entity count, to see where performance stops scaling.
+ *
+ * Each group covers {@code bucketSize} entities and keeps its own {@link Histogram}.
+ *
+ * @author Daan van Yperen
+ */
+public class ScalingReport {
+
+    private static final String[] COLUMNS = {"entities", "samples", "mean ms", "p50 ms", "p99 ms", "max ms"};
+    private static final int COLUMN_WIDTH = 14;
+
+    private final String title;
+    private final int bucketSize;
+    private final IntMap<Histogram> buckets = new IntMap<Histogram>();
+    private int highestBucket = -1;
+
+    public ScalingReport(String title, int bucketSize) {
+        this.title = title;
+        this.bucketSize = bucketSize;
+    }
+
+    public void record(int entityCount, long nanos) {
+        int bucket = entityCount / bucketSize;
+        Histogram histogram = buckets.get(bucket);
+        if (histogram == null) {
+            histogram = new Histogram(title, "");
+            buckets.put(bucket, histogram);
+            highestBucket = Math.max(highestBucket, bucket);
+        }
+        histogram.record(nanos);
+    }
+
+    /** @return table with one row per entity count group, lowest first. */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(title).append('\n');
+        for (String column : COLUMNS) {
+            pad(out, column);
+        }
+        out.append('\n');
+        for (int bucket = 0; bucket <= highestBucket; bucket++) {
+            Histogram histogram = buckets.get(bucket);
+            if (histogram == null) continue;
+            pad(out, (bucket * bucketSize) + "-" + ((bucket + 1) * bucketSize - 1));
+            pad(out, Long.toString(histogram.getCount()));
+            pad(out, millis(histogram.getMean()));
+            pad(out, millis(histogram.valueAt(0.5)));
+            pad(out, millis(histogram.valueAt(0.99)));
+            pad(out, millis(histogram.getMax()));
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String millis(double nanos) {
+        long hundredths = Math.round(nanos / 10000d);
+        long fraction = hundredths % 100;
+        return (hundredths / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private static void pad(StringBuilder out, String value) {
+        out.append(value);
+        for (int i = value.length(); i < COLUMN_WIDTH; i++) {
+            out.append(' ');
+        }
+    }
+}
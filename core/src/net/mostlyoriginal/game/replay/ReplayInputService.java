@@ -0,0 +1,19 @@
+package net.mostlyoriginal.game.replay;
+
+import net.mostlyoriginal.game.system.InputService;
+
+/**
+ * Plays back input read by {@link ReplayReader}, set before each tick.
+ *
+ * @author Daan van Yperen
+ */
+public class ReplayInputService extends InputService {
+
+    /** State for the next tick. */
+    public int next;
+
+    @Override
+    protected int poll() {
+        return next;
+    }
+}
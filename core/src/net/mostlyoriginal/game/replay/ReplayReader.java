@@ -0,0 +1,132 @@
+package net.mostlyoriginal.game.replay;
+
+import com.badlogic.gdx.utils.NumberUtils;
+
+import static net.mostlyoriginal.game.replay.ReplayWriter.*;
+
+/**
+ * Reads back a stream recorded by {@link ReplayWriter}, segment by segment and tick by tick.
+ *
+ * A stream cut off mid-record, like after a crash, reads up to the last whole record.
+ *
+ * @author Daan van Yperen
+ */
+public class ReplayReader {
+
+    private final byte[] bytes;
+    private final int length;
+    private int position;
+
+    /** Level, seed and step of the current segment. */
+    public int level;
+    public long seed;
+    public float step;
+
+    /** Delta and input state of the current tick. */
+    public float delta;
+    public int state;
+    /** Ticks read in the current segment. */
+    public long ticks;
+
+    private int pendingTicks;
+
+    public ReplayReader(byte[] bytes) {
+        this(bytes, bytes.length);
+    }
+
+    public ReplayReader(byte[] bytes, int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    /**
+     * Skip to the next segment.
+     *
+     * @return {@code false} when there are no segments left.
+     * @throws IllegalStateException when the segment was recorded by a newer format.
+     */
+    public boolean nextSegment() {
+        while (nextTick()) {
+        }
+        if (position >= length || bytes[position] != SEGMENT) return false;
+        position++;
+        try {
+            byte version = read();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported replay version " + version);
+            }
+            level = readVarint();
+            seed = readLong();
+            step = readFloat();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return end();
+        }
+        delta = step;
+        state = 0;
+        ticks = 0;
+        pendingTicks = 0;
+        return true;
+    }
+
+    /** @return {@code false} at the end of the segment. */
+    public boolean nextTick() {
+        while (pendingTicks == 0) {
+            if (position >= length || bytes[position] == SEGMENT) return false;
+            int start = position;
+            try {
+                byte tag = bytes[position++];
+                if (tag == INPUT) {
+                    state = readVarint();
+                } else if (tag == DELTA) {
+                    delta = readFloat();
+                } else if (tag == TICKS) {
+                    pendingTicks = readVarint();
+                } else {
+                    throw new IllegalStateException("Corrupt replay, unknown record " + tag + " at " + start);
+                }
+            } catch (ArrayIndexOutOfBoundsException e) {
+                return end();
+            }
+        }
+        pendingTicks--;
+        ticks++;
+        return true;
+    }
+
+    /** Stop at a record cut off by the end of the stream. */
+    private boolean end() {
+        position = length;
+        pendingTicks = 0;
+        return false;
+    }
+
+    private int readVarint() {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = read();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+
+    private long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (read() & 0xff);
+        }
+        return value;
+    }
+
+    private float readFloat() {
+        int bits = 0;
+        for (int i = 0; i < 4; i++) {
+            bits = (bits << 8) | (read() & 0xff);
+        }
+        return NumberUtils.intBitsToFloat(bits);
+    }
+
+    private byte read() {
+        if (position >= length) throw new ArrayIndexOutOfBoundsException(position);
+        return bytes[position++];
+    }
+}
@@ -0,0 +1,122 @@
+package net.mostlyoriginal.game.replay;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Records gameplay input tick by tick into a compact binary stream.
+ *
+ * A stream is a sequence of segments, one per played level, and can be appended to at any time.
+ * Each segment starts with everything needed to set up the same world: level, random seed and
+ * tick length. Ticks follow as records, all numbers are unsigned LEB128 varints unless noted:
+ * <ul>
+ * <li>{@link #SEGMENT}: format version byte, level, seed as 8 bytes and step as 4 float bytes.</li>
+ * <li>{@link #INPUT}: input state for the ticks that follow, see {@link net.mostlyoriginal.game.system.InputService}.</li>
+ * <li>{@link #DELTA}: tick delta for the ticks that follow, as 4 float bytes.</li>
+ * <li>{@link #TICKS}: number of ticks run with the current input state and delta.</li>
+ * </ul>
+ * Runs of unchanged ticks are counted rather than written, so a tick costs nothing until the
+ * input changes. Bytes are buffered and handed to the {@link Output} in chunks.
+ *
+ * @author Daan van Yperen
+ */
+public class ReplayWriter {
+
+    public static final byte SEGMENT = 1;
+    public static final byte INPUT = 2;
+    public static final byte DELTA = 3;
+    public static final byte TICKS = 4;
+
+    public static final byte VERSION = 1;
+
+    /** Buffered bytes before they are handed to the output. */
+    public static final int CHUNK_SIZE = 4096;
+
+    /** Destination for recorded bytes, like an append-only file. */
+    public interface Output {
+        void write(byte[] bytes, int length);
+    }
+
+    private final Output output;
+    private final ByteArray buffer = new ByteArray(CHUNK_SIZE * 2);
+
+    private int state;
+    private float delta;
+    private int pendingTicks;
+
+    public ReplayWriter(Output output) {
+        this.output = output;
+    }
+
+    /** Start recording a level, ending the previous one. */
+    public void segment(int level, long seed, float step) {
+        writeTicks();
+        buffer.add(SEGMENT);
+        buffer.add(VERSION);
+        writeVarint(level);
+        writeLong(seed);
+        writeFloat(step);
+        state = 0;
+        delta = step;
+        flush();
+    }
+
+    /** Record one tick. */
+    public void tick(float delta, int state) {
+        if (delta != this.delta) {
+            writeTicks();
+            buffer.add(DELTA);
+            writeFloat(delta);
+            this.delta = delta;
+        }
+        if (state != this.state) {
+            writeTicks();
+            buffer.add(INPUT);
+            writeVarint(state);
+            this.state = state;
+        }
+        pendingTicks++;
+
+        if (buffer.size >= CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /** Hand all recorded ticks to the output. */
+    public void flush() {
+        writeTicks();
+        if (buffer.size > 0) {
+            output.write(buffer.items, buffer.size);
+            buffer.clear();
+        }
+    }
+
+    private void writeTicks() {
+        if (pendingTicks > 0) {
+            buffer.add(TICKS);
+            writeVarint(pendingTicks);
+            pendingTicks = 0;
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7f) != 0) {
+            buffer.add((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.add((byte) value);
+    }
+
+    private void writeLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer.add((byte) (value >>> shift));
+        }
+    }
+
+    private void writeFloat(float value) {
+        int bits = NumberUtils.floatToIntBits(value);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer.add((byte) (bits >>> shift));
+        }
+    }
+}
@@ -1,27 +1,35 @@
 package net.mostlyoriginal.game.screen;
 
-import com.artemis.SuperMapper;
+import com.artemis.BaseSystem;
 import com.artemis.World;
 import com.artemis.WorldConfigurationBuilder;
 import com.artemis.link.EntityLinkManager;
-import com.artemis.managers.TagManager;
 import com.badlogic.gdx.graphics.Color;
 import net.mostlyoriginal.api.manager.FontManager;
 import net.mostlyoriginal.api.system.camera.CameraSystem;
-import net.mostlyoriginal.api.system.graphics.RenderBatchingSystem;
-import net.mostlyoriginal.api.system.physics.PhysicsSystem;
-import net.mostlyoriginal.api.system.render.AnimRenderSystem;
+import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.GameSession;
 import net.mostlyoriginal.game.GdxArtemisGame;
+import net.mostlyoriginal.game.replay.ReplayWriter;
 import net.mostlyoriginal.game.system.*;
+import net.mostlyoriginal.game.system.common.FixedStepInvocationStrategy;
 import net.mostlyoriginal.game.system.logic.TransitionSystem;
 import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
+import net.mostlyoriginal.game.system.view.GameScreenAudioService;
+import net.mostlyoriginal.game.system.view.GdxInputService;
+import net.mostlyoriginal.game.system.view.LayeredRenderBatchingSystem;
+import net.mostlyoriginal.game.system.view.MyAnimRenderSystem;
 import net.mostlyoriginal.game.system.view.MyClearScreenSystem;
+import net.mostlyoriginal.game.system.view.ScalingReportSystem;
+import net.mostlyoriginal.game.system.view.SceneryRenderSystem;
+import net.mostlyoriginal.game.system.view.TimeWarpSystem;
 import net.mostlyoriginal.plugin.OperationsPlugin;
-import net.mostlyoriginal.plugin.ProfilerPlugin;
 
 /**
  * Example main game screen.
  *
+ * Gameplay runs at a fixed tick rate, rendering once per frame. F9 warps game speed.
+ *
  * @author Daan van Yperen
  */
 public class GameScreen extends TransitionableWorldScreen {
@@ -32,44 +40,46 @@ public class GameScreen extends TransitionableWorldScreen {
 
     @Override
     protected World createWorld() {
-        RenderBatchingSystem renderBatchingSystem;
-        return new World(new WorldConfigurationBuilder()
-                .dependsOn(EntityLinkManager.class, ProfilerPlugin.class, OperationsPlugin.class)
-                .with(
-                        new SuperMapper(),
-                        new EmotionService(),
-                        new FontManager(),
-                        new TagManager(),
-                        new TutorialService()
-                )
+        LayeredRenderBatchingSystem renderBatchingSystem;
+        GameSession session = GdxArtemisGame.getInstance().session;
+        RandomService randomService = new RandomService();
+        GdxInputService inputService = new GdxInputService();
+        ReplayWriter recorder = GdxArtemisGame.getInstance().recorder;
+        if (recorder != null) {
+            recorder.segment(session.level, randomService.getSeed(), GameRules.LOGIC_STEP);
+            inputService.record(recorder);
+        }
+
+        BaseSystem[] gameplaySystems = GameplaySystems.create(inputService);
+        WorldConfigurationBuilder config = new WorldConfigurationBuilder()
+                .dependsOn(EntityLinkManager.class, OperationsPlugin.class)
+                .with(GameplaySystems.services(randomService, new GameScreenAudioService()))
+                .with(new FontManager())
                 .with(
 
                         // Replace with your own systems!
+                        new TimeWarpSystem(),
                         new CameraSystem(2),
                         new MyClearScreenSystem(Color.valueOf(BACKGROUND_COLOR_HEX)),
-                        new GameScreenAssetSystem(),
-                        new LevelSetupSystem(),
-                        new EntranceSystem(),
-                        new DesireSystem(),
-                        new HuntSystem(),
-                        new UseSystem(),
-                        new ToiletSystem(),
-                        new SinkSystem(),
-                        new UrinalSystem(),
-                        new VisitorSystem(),
-                        new PlayerControlSystem(),
-                        new PlayerSystem(),
-                        new ClockSystem(),
-                        new CoinSystem(),
-                        new PhysicsSystem(),
-                        new InteractableCooldownSystem(),
-                        renderBatchingSystem = new RenderBatchingSystem(),
-                        new AnimRenderSystem(renderBatchingSystem),
+                        new GameScreenAssetSystem()
+                )
+                .with(gameplaySystems)
+                .with(
+                        new SceneryRenderSystem(),
+                        renderBatchingSystem = new LayeredRenderBatchingSystem(),
+                        new MyAnimRenderSystem(renderBatchingSystem),
                         new MyLabelRenderSystem(renderBatchingSystem),
-                        new StatusRenderSystem(),
                         new TransitionSystem(GdxArtemisGame.getInstance(),this),
-                        new DiscoSystem()
-                ).build());
+                        new DiscoSystem(),
+                        new MetricsSystem(GdxArtemisGame.getInstance().metrics)
+                );
+        if (session.customLevel != null) {
+            config.with(new ScalingReportSystem(session.customLevel.name));
+        }
+        return new World(config
+                .register(new FixedStepInvocationStrategy(GameRules.LOGIC_STEP, GdxArtemisGame.getInstance().metrics, gameplaySystems))
+                .build()
+                .register(session));
     }
 
 }
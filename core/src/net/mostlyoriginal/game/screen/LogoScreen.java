@@ -46,7 +46,8 @@ public class LogoScreen extends TransitionableWorldScreen {
                         new MyLabelRenderSystem(renderBatchingSystem),
                         new LogoScreenSetupSystem(),
                         new TransitionSystem(GdxArtemisGame.getInstance(), this)
-                ).build());
+                ).build()
+                .register(GdxArtemisGame.getInstance().session));
     }
 
 }
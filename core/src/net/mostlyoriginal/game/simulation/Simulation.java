@@ -0,0 +1,115 @@
+package net.mostlyoriginal.game.simulation;
+
+import com.artemis.Aspect;
+import com.artemis.EntitySubscription;
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.artemis.link.EntityLinkManager;
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+import net.mostlyoriginal.game.system.*;
+import net.mostlyoriginal.game.system.common.MeasuredInvocationStrategy;
+import net.mostlyoriginal.game.system.logic.TransitionSystem;
+import net.mostlyoriginal.game.system.view.LayeredRenderBatchingSystem;
+import net.mostlyoriginal.plugin.OperationsPlugin;
+
+/**
+ * Gameplay world without graphics, audio or input.
+ *
+ * Runs the same {@link GameplaySystems} as {@link net.mostlyoriginal.game.screen.GameScreen}, with
+ * the render systems left out and silent stand-ins for audio and keyboard. Needs no GL context,
+ * audio device or window, so levels can be simulated as fast as the machine allows.
+ *
+ * Icons are still created as entities, only never drawn, so a recording made on the game screen
+ * replays here with the same entity ids.
+ *
+ * All gameplay randomness comes from {@link RandomService}, so two simulations with the same seed
+ * and level play out identically. Each simulation has its own {@link GameSession} and shares no
+ * state with other worlds, so simulations can run on separate threads.
+ *
+ * Every system is timed into {@link #metrics}. Snapshots for exporters are only taken on request,
+ * call {@link MetricsRegistry#publish()} when needed.
+ *
+ * The level is picked from the session by {@link LevelSetupSystem} as usual. {@link LayeredRenderBatchingSystem} is registered
+ * without any render agents, {@link UseSystem} tells it when actors change layer.
+ *
+ * @author Daan van Yperen
+ */
+public class Simulation {
+
+    public final World world;
+    public final MetricsRegistry metrics = new MetricsRegistry();
+    public final GameSession session;
+    public long ticks = 0;
+    public float age = 0;
+
+    private final CoinSystem coinSystem;
+    private final ClockSystem clockSystem;
+    private final EntitySubscription allEntities;
+    private final RandomService randomService;
+
+    /** Simulation with a random seed. */
+    public Simulation(GameSession session) {
+        this(session, new RandomService(), new InputService());
+    }
+
+    public Simulation(GameSession session, long seed) {
+        this(session, new RandomService(seed), new InputService());
+    }
+
+    /** @param inputService input for the player, like a recording played back. */
+    public Simulation(GameSession session, long seed, InputService inputService) {
+        this(session, new RandomService(seed), inputService);
+    }
+
+    private Simulation(GameSession session, RandomService randomService, InputService inputService) {
+        this.session = session;
+        this.randomService = randomService;
+        world = new World(new WorldConfigurationBuilder()
+                .dependsOn(EntityLinkManager.class, OperationsPlugin.class)
+                .with(GameplaySystems.services(randomService, new AudioService()))
+                .with(GameplaySystems.create(inputService))
+                .with(new LayeredRenderBatchingSystem(), new TransitionSystem(), new MetricsSystem(metrics, 0))
+                .register(new MeasuredInvocationStrategy(metrics))
+                .build()
+                .register(session));
+
+        coinSystem = world.getSystem(CoinSystem.class);
+        clockSystem = world.getSystem(ClockSystem.class);
+        allEntities = world.getAspectSubscriptionManager().get(Aspect.all());
+    }
+
+    public long getSeed() {
+        return randomService.getSeed();
+    }
+
+    /** Advance the simulation by one tick of delta seconds. */
+    public void tick(float delta) {
+        world.setDelta(delta);
+        world.process();
+        ticks++;
+        age += delta;
+    }
+
+    /** @return {@code true} once the level has been won or lost. */
+    public boolean isFinished() {
+        return coinSystem.isFinishing();
+    }
+
+    public boolean isWon() {
+        return coinSystem.won;
+    }
+
+    /** @return in-game minutes passed since the bathroom opened. */
+    public int minutesPassed() {
+        return clockSystem.minutesPassed;
+    }
+
+    public int entityCount() {
+        return allEntities.getEntities().size();
+    }
+
+    public void dispose() {
+        world.dispose();
+    }
+}
@@ -0,0 +1,45 @@
+package net.mostlyoriginal.game.system;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import net.mostlyoriginal.api.system.core.PassiveSystem;
+
+/**
+ * Interns anim ids as dense int handles.
+ *
+ * An id gets its handle the first time it is seen, so components can store the handle and
+ * renderers can resolve anims through an array instead of hashing the id.
+ *
+ * Handles are per world, so simulations on separate threads never share the registry.
+ *
+ * @author Daan van Yperen
+ */
+public class AnimHandleService extends PassiveSystem {
+
+    public static final int NO_ANIM = -1;
+
+    private final ObjectIntMap<String> handles = new ObjectIntMap<String>();
+    private final Array<String> ids = new Array<String>();
+
+    /** @return handle of anim id, {@link #NO_ANIM} for {@code null}. */
+    public int handle(String id) {
+        if (id == null) return NO_ANIM;
+        int handle = handles.get(id, NO_ANIM);
+        if (handle == NO_ANIM) {
+            handle = ids.size;
+            handles.put(id, handle);
+            ids.add(id);
+        }
+        return handle;
+    }
+
+    /** @return interned anim id of handle, {@code null} for {@link #NO_ANIM}. */
+    public String id(int handle) {
+        return handle != NO_ANIM ? ids.get(handle) : null;
+    }
+
+    /** @return number of handles handed out, all handles are below this. */
+    public int size() {
+        return ids.size;
+    }
+}
@@ -0,0 +1,180 @@
+package net.mostlyoriginal.game.system;
+
+import net.mostlyoriginal.api.system.core.PassiveSystem;
+
+/**
+ * Sound cues triggered by gameplay.
+ *
+ * Silent by itself, so gameplay runs without an audio device.
+ * {@link net.mostlyoriginal.game.system.view.GameScreenAudioService} plays the cues for real.
+ *
+ * Cues are kept in constant arrays, so triggering one allocates nothing.
+ *
+ * @author Daan van Yperen
+ */
+public class AudioService extends PassiveSystem {
+
+    public static final float LOW_VOLUME = 0.01f;
+
+    private static final String[] DOOR_CLOSE_SFX = {
+            "door_close_01",
+            "door_close_02",
+            "door_close_03"
+    };
+
+    private static final String[] DOOR_OPEN_SFX = {
+            "door_open_01",
+            "door_open_02",
+            "door_open_03"
+    };
+
+    private static final String[] COIN_SFX = {
+            "coin_drop_01",
+            "coin_drop_02",
+            "coin_drop_03",
+            "coin_drop_04",
+            "coin_drop_05",
+            "coin_drop_06",
+            "coin_drop_07",
+            "coin_drop_08",
+            "coin_drop_09",
+            "coin_drop_10",
+            "coin_drop_11",
+            "coin_drop_12"
+    };
+
+    private static final String[] MOP_SFX = {
+            "mop_01",
+            "mop_02",
+            "mop_03",
+            "mop_04",
+            "mop_05"
+    };
+
+    private static final String[] PLUNGER_SFX = {
+            "plunger_01",
+            "plunger_02",
+            "plunger_03",
+            "plunger_04",
+            "plunger_05"
+    };
+
+    private static final String[] SUPPLIES_SFX = {
+            "supplies_01",
+            "supplies_02",
+            "supplies_03"
+    };
+
+    private static final String[] POOP_SFX = {
+            "poop_01",
+            "poop_02",
+            "poop_03",
+            "poop_04",
+            "poop_05",
+            "poop_06"
+    };
+
+    private static final String[] FLUSH_SFX = {
+            "toilet_flush_01"
+    };
+
+    private static final String[] PEE_SFX = {
+            "pee_drips_01",
+//            "pee_long_01",
+//            "pee_long_02",
+//            "pee_long_03",
+            "pee_short_01",
+            "pee_short_02",
+            "pee_short_03"
+    };
+
+    private static final String[] GUEST_ANGRY_SFX = {
+            "guest_angry_01",
+            "guest_angry_02",
+            "guest_angry_03",
+            "guest_angry_04",
+            "guest_angry_05",
+            "guest_angry_06",
+            "guest_angry_07",
+            "guest_angry_08",
+            "guest_angry_09"
+    };
+
+    private static final String[] SINK_SFX = {
+            "handwash_01",
+            "handwash_02",
+            "handwash_03"
+    };
+
+    private static final String[] VICTORY_SFX = {
+            "victory"
+    };
+
+    private static final String[] DEFEAT_SFX = {
+            "defeat"
+    };
+
+    /** Play one of the given sounds at default volume. The array identifies the cue, pass a constant. */
+    public void playSfx(String... names) {
+    }
+
+    /** Play one of the given sounds. The array identifies the cue, pass a constant. */
+    public void playSfx(float volume, String... names) {
+    }
+
+    public void playDoorCloseSfx() {
+        playSfx(LOW_VOLUME, DOOR_CLOSE_SFX);
+    }
+
+
+    public void playDoorOpenSfx() {
+        playSfx(LOW_VOLUME, DOOR_OPEN_SFX);
+    }
+
+    public void playCoinSfx() {
+        playSfx(COIN_SFX);
+    }
+
+    public void playMopSfx() {
+        playSfx(MOP_SFX);
+    }
+
+    public void playPlungerSfx() {
+        playSfx(PLUNGER_SFX);
+    }
+
+    public void playSuppliesSfx() {
+        playSfx(SUPPLIES_SFX);
+    }
+
+    public void playPoopSfx() {
+        playSfx(POOP_SFX);
+    }
+
+    public void playFlushSfx() {
+        playSfx(FLUSH_SFX);
+    }
+
+    public void playPeeSfx() {
+        playSfx(PEE_SFX);
+    }
+
+
+    public void playGuestAngrySfx() {
+        playSfx(GUEST_ANGRY_SFX);
+    }
+
+
+    public void playSinkSfx() {
+        playSfx(SINK_SFX);
+    }
+
+    public void playVictorySfx() {
+        playSfx(VICTORY_SFX);
+    }
+
+    public void playDefeatSfx() {
+        playSfx(DEFEAT_SFX);
+    }
+
+}
@@ -2,8 +2,9 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.math.Interpolation;
-import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.GameSession;
 import net.mostlyoriginal.game.component.Clock;
 import net.mostlyoriginal.game.component.Tutorial;
 import net.mostlyoriginal.game.component.module.TipBowl;
@@ -13,7 +14,6 @@ import net.mostlyoriginal.game.system.common.FluidSystem;
 import net.mostlyoriginal.game.system.logic.TransitionSystem;
 import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
 
-import static com.artemis.E.E;
 
 /**
  * @author Daan van Yperen
@@ -29,13 +29,16 @@ public class ClockSystem extends FluidSystem {
     private float age=0;
     private CoinSystem coinSystem;
     private E face;
-    private GameScreenAssetSystem assetSystem;
+    private AudioService audioService;
     LevelSetupSystem levelSetupSystem;
     private float hour;
     private float minute;
     public int minutesPassed;
     private TutorialService tutorialService;
 
+    @Wire
+    private GameSession session;
+
     public ClockSystem() {
         super(Aspect.all(Clock.class));
     }
@@ -95,9 +98,9 @@ public class ClockSystem extends FluidSystem {
     private void considerVictoryCondition(int hour ) {
         if ( !coinSystem.finishing && hour >= VICTORY_HOUR) {
             coinSystem.finishing = true;
-            assetSystem.playVictorySfx();
+            audioService.playVictorySfx();
             coinSystem.won = true;
-            GameRules.level++;
+            session.level++;
             world.getSystem(TransitionSystem.class).transition(GameScreen.class, 6f);
         }
     }
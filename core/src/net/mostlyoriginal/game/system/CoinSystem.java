@@ -2,17 +2,14 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
-import com.badlogic.gdx.math.MathUtils;
-import net.mostlyoriginal.api.component.graphics.Tint;
-import net.mostlyoriginal.game.GameRules;
+import com.artemis.annotations.Wire;
+import net.mostlyoriginal.game.GameSession;
 import net.mostlyoriginal.game.component.module.TipBowl;
 import net.mostlyoriginal.game.screen.LogoScreen;
 import net.mostlyoriginal.game.system.common.FluidSystem;
 import net.mostlyoriginal.game.system.logic.TransitionSystem;
-import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
+import net.mostlyoriginal.game.util.RandomStream;
 
-import static com.artemis.E.E;
-import static net.mostlyoriginal.api.operation.OperationFactory.*;
 
 /**
  * @author Daan van Yperen
@@ -20,10 +17,23 @@ import static net.mostlyoriginal.api.operation.OperationFactory.*;
 public class CoinSystem extends FluidSystem {
     public boolean won = false;
 
+    private RandomService randomService;
+    private RandomStream random;
+    private EffectsService effectsService;
+
+    @Wire
+    private GameSession session;
+
     public CoinSystem() {
         super(Aspect.all(TipBowl.class));
     }
 
+    @Override
+    protected void initialize() {
+        super.initialize();
+        random = randomService.stream(RandomService.FX);
+    }
+
     int xOffset = 0;
     int coinsPending = 0;
     int angerPending = 0;
@@ -38,12 +48,16 @@ public class CoinSystem extends FluidSystem {
             if (e.tipBowlCoins() > 0 && cashoutCooldown <= 0) {
                 cashoutCooldown = 0.2f;
                 e.tipBowlCoins(e.tipBowlCoins() - 1);
-                assetSystem.playCoinSfx();
+                audioService.playCoinSfx();
             } else cashoutCooldown -= world.delta;
 
         }
     }
 
+    public boolean isFinishing() {
+        return finishing;
+    }
+
     private void showMassedWealth(E e) {
         E(e.tipBowlBowlId()).anim(coinAnim(e));
     }
@@ -51,7 +65,7 @@ public class CoinSystem extends FluidSystem {
     private void increaseTipsWithPending(E e) {
         if (coinsPending > 0) {
             e.tipBowlCoins(e.tipBowlCoins() + coinsPending);
-            GameRules.lastScore += coinsPending;
+            session.lastScore += coinsPending;
             coinsPending = 0;
         }
         if (angerPending > 0) {
@@ -64,39 +78,23 @@ public class CoinSystem extends FluidSystem {
     private void considerLossCondition(E e) {
         if (!finishing && e.tipBowlAnger() >= e.tipBowlMaxAnger()) {
             finishing = true;
-            assetSystem.playDefeatSfx();
+            audioService.playDefeatSfx();
             world.getSystem(TransitionSystem.class).transition(LogoScreen.class, 5);
         }
     }
 
-    GameScreenAssetSystem assetSystem;
+    AudioService audioService;
 
     public void payCoin(E e) {
         coinsPending++;
-        assetSystem.playCoinSfx();
-        feedbackIcon("icon_coin", e.posX() + 2 + MathUtils.random(-4, 4), e.posY() + 32 + MathUtils.random(-4, 4));
+        audioService.playCoinSfx();
+        effectsService.feedbackIcon("icon_coin", e.posX() + 2 + random.random(-4, 4), e.posY() + 32 + random.random(-4, 4));
     }
 
     public void leaveAngrily(E e) {
         angerPending++;
-        assetSystem.playGuestAngrySfx();
-        feedbackIcon("icon_sad", e.posX() + 2, e.posY() + 48);
-    }
-
-    private void feedbackIcon(String icon_coin, float x, float y) {
-//        E()
-//                .pos(24 + (xOffset+=10),12)
-//                .anim(icon_coin)
-//                .renderLayer(GameScreenAssetSystem.LAYER_ICONS);
-        E()
-                .pos(x, y)
-                .anim(icon_coin)
-                .renderLayer(GameScreenAssetSystem.LAYER_ICONS)
-                .physicsVy(20)
-                .physicsFriction(0)
-                .script(
-                        tween(Tint.WHITE, Tint.TRANSPARENT, 3f)
-                );
+        audioService.playGuestAngrySfx();
+        effectsService.feedbackIcon("icon_sad", e.posX() + 2, e.posY() + 48);
     }
 
     private String coinAnim(E e) {
@@ -2,119 +2,162 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
+import com.artemis.EntitySubscription;
+import com.artemis.annotations.Wire;
 import com.artemis.utils.IntBag;
-import com.badlogic.gdx.math.MathUtils;
+import net.mostlyoriginal.game.GameSession;
 import net.mostlyoriginal.game.component.Desire;
+import net.mostlyoriginal.game.component.Hunt;
+import net.mostlyoriginal.game.component.Queued;
 import net.mostlyoriginal.game.component.Using;
-import net.mostlyoriginal.game.component.module.*;
-import net.mostlyoriginal.game.component.state.Dirty;
-import net.mostlyoriginal.game.component.state.InUse;
+import net.mostlyoriginal.game.component.module.Exit;
+import net.mostlyoriginal.game.component.module.TipBowl;
 import net.mostlyoriginal.game.system.common.FluidSystem;
+import net.mostlyoriginal.game.util.EntitySet;
+import net.mostlyoriginal.game.util.OrderedEntitySet;
+import net.mostlyoriginal.game.util.RandomStream;
 
 /**
+ * Picks a target for visitors that have none.
+ *
+ * Only visitors without a {@link Hunt} and not waiting in line are processed. The subscription
+ * acts as the queue: visitors join when they spawn, finish using something or give up on a
+ * hunt, and leave as soon as they get a target. Cost follows the visitors changing state, not
+ * the crowd.
+ *
+ * Visitors that find nothing free join the line of a busy facility, see
+ * {@link FacilityQueueService}. Visitors picking the nearest facility settle for the nearest line
+ * with room when that one is full. Only when no line will have them do they try again next tick.
+ *
  * @author Daan van Yperen
  */
 public class DesireSystem extends FluidSystem {
 
-    public static final int MISSING_ENTITY_ID = -1;
+    public static final int MISSING_ENTITY_ID = EntitySet.MISSING_ENTITY_ID;
+
+    private RandomService randomService;
+    private FacilityIndexService facilityIndex;
+    private FacilityQueueService facilityQueues;
+    @Wire
+    private GameSession session;
+    private RandomStream random;
+
+    private EntitySubscription exits;
+    private EntitySubscription tipBowls;
 
     public DesireSystem() {
-        super(Aspect.all(Desire.class).exclude(Using.class));
+        super(Aspect.all(Desire.class).exclude(Using.class, Hunt.class, Queued.class));
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        random = randomService.stream(RandomService.DESIRE);
+
+        exits = subscribe(Aspect.all(Exit.class));
+        tipBowls = subscribe(Aspect.all(TipBowl.class));
     }
 
     @Override
     protected void process(E e) {
-        if (!e.hasHunt()) {
-            startHunt(e);
-        }
+        startHunt(e);
     }
 
-    private void startHunt(E e) {
+    void startHunt(E e) {
 
         int entityId = MISSING_ENTITY_ID;
 
         switch (e.desireType()) {
             case LEAVE:
-                entityId = randomOf(getExits());
+                entityId = randomOf(exits.getEntities());
                 break;
             case TIP:
-                entityId = randomOf(getTipBowls());
+                entityId = randomOf(tipBowls.getEntities());
                 break;
             case WASH_HANDS:
-                entityId = randomOf(getSink());
+                entityId = pick(facilityIndex.sinks.free, e);
                 break;
             case POOP:
-                entityId = randomOf(getCleanToilet());
-                if ( entityId == MISSING_ENTITY_ID || MathUtils.random(1,100) < 50 ) {
-                    entityId = randomOf(getAnyToilet());
+                entityId = pick(facilityIndex.toilets.clean, e);
+                if ( entityId == MISSING_ENTITY_ID || random.random(1,100) < 50 ) {
+                    entityId = pick(facilityIndex.toilets.free, e);
                 }
                 break;
             case PEE:
-                entityId = randomOf(getCleanUrinal());
-                if ( entityId == MISSING_ENTITY_ID || MathUtils.random(1,100) < 50 ) {
-                    entityId = randomOf(getAnyUrinal());
+                entityId = pick(facilityIndex.urinals.cleanAndFree, e);
+                if ( entityId == MISSING_ENTITY_ID || random.random(1,100) < 50 ) {
+                    entityId = pick(facilityIndex.urinals.free, e);
                 }
                 if ( entityId == MISSING_ENTITY_ID ) {
-                    entityId = randomOf(getCleanToilet());
+                    entityId = pick(facilityIndex.toilets.clean, e);
                 }
                 if ( entityId == MISSING_ENTITY_ID ) {
-                    entityId = randomOf(getAnyToilet());
+                    entityId = pick(facilityIndex.toilets.free, e);
                 }
                 break;
         }
 
         if (entityId != MISSING_ENTITY_ID) {
             e.huntEntityId(entityId);
+            facilityIndex.reserve(E(entityId), e);
+        } else {
+            joinLine(e);
         }
     }
 
-    private int randomOf(IntBag exits) {
-        return !exits.isEmpty() ? exits.get(MathUtils.random(exits.size()-1)) : MISSING_ENTITY_ID;
-    }
-
-    private IntBag getCleanToilet() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(Toilet.class).exclude(Dirty.class)).getEntities();
-    }
-
-    private IntBag getSink() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(Sink.class).exclude(InUse.class)).getEntities();
+    /** Nothing free, wait in line for a facility that will do. Full lines are tried again next tick. */
+    private void joinLine(E e) {
+        OrderedEntitySet facilities = linesFor(e.desireType());
+        int facilityId = facilities != null ? pick(facilities, e) : MISSING_ENTITY_ID;
+        if (facilityId != MISSING_ENTITY_ID && facilityQueues.isFull(facilityId)
+                && session.targetPolicy == GameSession.TargetPolicy.NEAREST) {
+            // the nearest line would be picked again every tick, settle for the nearest with room.
+            facilityId = nearestWithRoom(facilities, e.posX());
+        }
+        if (facilityId != MISSING_ENTITY_ID) {
+            facilityQueues.enqueue(e, E(facilityId));
+        }
     }
 
-
-    private IntBag getAnyToilet() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(Toilet.class).exclude(InUse.class)).getEntities();
+    /** @return facility closest to x with room in its line, or {@link #MISSING_ENTITY_ID}. */
+    private int nearestWithRoom(EntitySet facilities, float x) {
+        int nearest = MISSING_ENTITY_ID;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int i = 0, s = facilities.size(); i < s; i++) {
+            int facilityId = facilities.get(i);
+            float distance = Math.abs(E(facilityId).posX() - x);
+            if (distance < nearestDistance && !facilityQueues.isFull(facilityId)) {
+                nearest = facilityId;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
     }
 
-
-    private IntBag getCleanUrinal() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(Urinal.class).exclude(Dirty.class, InUse.class)).getEntities();
+    private OrderedEntitySet linesFor(Desire.Type type) {
+        switch (type) {
+            case WASH_HANDS:
+                return facilityIndex.sinks.all;
+            case POOP:
+                return facilityIndex.toilets.all;
+            case PEE:
+                return !facilityIndex.urinals.all.isEmpty() ? facilityIndex.urinals.all : facilityIndex.toilets.all;
+            default:
+                return null;
+        }
     }
 
-
-    private IntBag getAnyUrinal() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(Urinal.class).exclude(InUse.class)).getEntities();
+    private int pick(OrderedEntitySet facilities, E visitor) {
+        return session.targetPolicy == GameSession.TargetPolicy.NEAREST
+                ? facilities.nearest(visitor.posX())
+                : facilities.random(random);
     }
 
-
-    private IntBag getExits() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(Exit.class)).getEntities();
+    private int randomOf(IntBag exits) {
+        return !exits.isEmpty() ? exits.get(random.random(exits.size()-1)) : MISSING_ENTITY_ID;
     }
 
-    private IntBag getTipBowls() {
-        return world
-                .getAspectSubscriptionManager()
-                .get(Aspect.all(TipBowl.class)).getEntities();
+    private EntitySubscription subscribe(Aspect.Builder aspect) {
+        return world.getAspectSubscriptionManager().get(aspect);
     }
 }
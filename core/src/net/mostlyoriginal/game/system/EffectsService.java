@@ -0,0 +1,67 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.E;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import net.mostlyoriginal.api.component.graphics.Invisible;
+import net.mostlyoriginal.api.system.core.PassiveSystem;
+import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
+
+import static com.artemis.E.E;
+
+/**
+ * Visual feedback triggered by gameplay, shown as entities.
+ *
+ * Part of {@link GameplaySystems} and aged per tick, so feedback creates the same entities in every
+ * world and entity ids of a recording line up with its headless replay. Uses no script operations,
+ * so simulations never touch the operation pools shared by all worlds.
+ *
+ * Faded icons are hidden with {@link Invisible} and reused, so steady play creates no entities for
+ * feedback. Reused icons are shown where they spawn, never sliding in from where they faded, see
+ * {@link net.mostlyoriginal.game.system.common.PositionInterpolator}.
+ *
+ * @author Daan van Yperen
+ */
+public class EffectsService extends PassiveSystem {
+
+    public static final float ICON_LIFETIME = 3f;
+    public static final float ICON_SPEED = 20f;
+
+    private final IntArray icons = new IntArray();
+    private final FloatArray iconAges = new FloatArray();
+    private final IntArray idleIcons = new IntArray();
+
+    /** Icon that floats up and fades out. */
+    public void feedbackIcon(String icon, float x, float y) {
+        E e = idleIcons.size > 0 ? E(idleIcons.pop()).removeInvisible() : E().renderLayer(GameScreenAssetSystem.LAYER_ICONS);
+        e
+                .pos(x, y)
+                .anim(icon)
+                .tint(1f, 1f, 1f, 1f)
+                .physicsVy(ICON_SPEED)
+                .physicsFriction(0);
+        icons.add(e.id());
+        iconAges.add(0);
+    }
+
+    @Override
+    protected boolean checkProcessing() {
+        return true;
+    }
+
+    /** Fade icons out over their lifetime. */
+    @Override
+    protected void processSystem() {
+        for (int i = icons.size - 1; i >= 0; i--) {
+            float age = iconAges.items[i] += world.delta;
+            E e = E(icons.items[i]);
+            if (age < ICON_LIFETIME) {
+                e.tint(1f, 1f, 1f, 1f - age / ICON_LIFETIME);
+            } else {
+                e.physicsVy(0).invisible();
+                idleIcons.add(icons.removeIndex(i));
+                iconAges.removeIndex(i);
+            }
+        }
+    }
+}
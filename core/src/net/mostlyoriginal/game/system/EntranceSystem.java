@@ -6,12 +6,14 @@ import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
 import net.mostlyoriginal.api.component.basic.Pos;
 import net.mostlyoriginal.game.component.Desire;
+import net.mostlyoriginal.game.component.Emotion;
 import net.mostlyoriginal.game.component.Tutorial;
 import net.mostlyoriginal.game.component.module.Entrance;
+import net.mostlyoriginal.game.metrics.Counter;
 import net.mostlyoriginal.game.system.common.FluidSystem;
 import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
+import net.mostlyoriginal.game.util.RandomStream;
 
-import static com.artemis.E.E;
 
 /**
  * @author Daan van Yperen
@@ -20,15 +22,24 @@ public class EntranceSystem extends FluidSystem {
 
     public static final float MINUTES_TILL_VICTORY_MINUS_ONE_HOUR = 540f;
     private TutorialService tutorialService;
+    private RandomService randomService;
+    private AnimHandleService animHandles;
+    private RandomStream random;
+    private MetricsSystem metricsSystem;
+    private Counter spawnCounter;
 
     public EntranceSystem() {
         super(Aspect.all(Entrance.class, Pos.class));
     }
 
-    ClockSystem clockSystem;
+    @Override
+    protected void initialize() {
+        super.initialize();
+        random = randomService.stream(RandomService.VISITORS);
+        spawnCounter = metricsSystem.registry.counter("visitors_spawned_total");
+    }
 
-    public int spawnsPending = 0;
-    public float spawnCooldown = 0;
+    ClockSystem clockSystem;
 
     @Override
     protected void process(E e) {
@@ -41,15 +52,16 @@ public class EntranceSystem extends FluidSystem {
             e.entranceCooldown(e.entranceCooldown() - world.getDelta());
             if (e.entranceCooldown() <= 0) {
                 e.entranceCooldown(e.entranceTimeBetweenSpawns());
-                e.anim(e.interactableStartAnimId());
-                int count = MathUtils.random(e.entranceMinCount(), e.entranceMaxCount());
-                spawnsPending += count;
+                e.anim(animHandles.id(e.interactableStartAnimId()));
+                int count = random.random(e.entranceMinCount(), e.entranceMaxCount());
+                e.entranceSpawnsPending(e.entranceSpawnsPending() + count);
             }
 
-            spawnCooldown -= world.delta;
-            if (spawnsPending > 0 && spawnCooldown <= 0) {
-                spawnCooldown = MathUtils.random(0.2f, 0.3f);
-                spawnsPending--;
+            // each entrance lets out its own bursts, one visitor at a time.
+            e.entranceSpawnCooldown(e.entranceSpawnCooldown() - world.delta);
+            if (e.entranceSpawnsPending() > 0 && e.entranceSpawnCooldown() <= 0) {
+                e.entranceSpawnCooldown(random.random(0.2f, 0.3f));
+                e.entranceSpawnsPending(e.entranceSpawnsPending() - 1);
                 spawnVisitor((int) (e.posX() + e.boundsMinx()), (int) (e.posY() - e.boundsMiny()));
             }
         }
@@ -64,12 +76,15 @@ public class EntranceSystem extends FluidSystem {
                 timeBetweenSpawns);
     }
 
-    private void spawnVisitor(int x, int y) {
-        E()
+    E spawnVisitor(int x, int y) {
+        spawnCounter.inc();
+        return E()
                 .pos(x, y)
                 .bounds(0,0,GameScreenAssetSystem.VISITOR_WIDTH,GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
                 .render(GameScreenAssetSystem.LAYER_ACTORS)
-                .desire(MathUtils.randomBoolean() ? Desire.Type.POOP : Desire.Type.PEE)
+                .desire(random.randomBoolean() ? Desire.Type.POOP : Desire.Type.PEE)
+                .desireIndex(random.random(1, VisitorSystem.SKIN_COUNT))
+                .emotionState(random.randomBoolean() ? Emotion.State.HAPPY : Emotion.State.NEUTRAL)
                 .anim("visitor");
     }
 }
@@ -0,0 +1,165 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.Aspect;
+import com.artemis.Component;
+import com.artemis.ComponentMapper;
+import com.artemis.E;
+import com.artemis.EntitySubscription;
+import com.artemis.utils.IntBag;
+import net.mostlyoriginal.api.component.basic.Bounds;
+import net.mostlyoriginal.api.component.basic.Pos;
+import net.mostlyoriginal.api.system.core.PassiveSystem;
+import net.mostlyoriginal.game.component.module.Sink;
+import net.mostlyoriginal.game.component.module.Toilet;
+import net.mostlyoriginal.game.component.module.Urinal;
+import net.mostlyoriginal.game.component.state.Clogged;
+import net.mostlyoriginal.game.component.state.Dirty;
+import net.mostlyoriginal.game.component.state.InUse;
+import net.mostlyoriginal.game.component.state.Reserved;
+import net.mostlyoriginal.game.util.EntitySet;
+import net.mostlyoriginal.game.util.OrderedEntitySet;
+
+/**
+ * Keeps toilets, urinals and sinks sorted by state, for cheap target selection.
+ *
+ * Sets are updated by subscription listeners as {@link InUse}, {@link Dirty} and
+ * {@link Clogged} come and go, so lookups and counts never scan entities.
+ *
+ * Visitors {@link #reserve} their target when they start walking to it. Reserved facilities are
+ * left out of the sets used for target selection, so visitors spread out instead of racing for
+ * the same toilet. {@link ReservationSystem} releases reservations that go stale.
+ *
+ * Once the level is laid out, the selection sets can also find the facility nearest to a
+ * visitor, see {@link #indexPositions}.
+ *
+ * @author Daan van Yperen
+ */
+public class FacilityIndexService extends PassiveSystem {
+
+    public final Facilities toilets = new Facilities(Toilet.class);
+    public final Facilities urinals = new Facilities(Urinal.class);
+    public final Facilities sinks = new Facilities(Sink.class);
+
+    /** Facilities of one type, by state. */
+    public static class Facilities {
+
+        private final Class<? extends Component> type;
+
+        public final OrderedEntitySet all = new OrderedEntitySet();
+        /** Not in use or reserved. */
+        public final OrderedEntitySet free = new OrderedEntitySet();
+        /** Not dirty or reserved, possibly in use. */
+        public final OrderedEntitySet clean = new OrderedEntitySet();
+        /** Not dirty, in use or reserved. */
+        public final OrderedEntitySet cleanAndFree = new OrderedEntitySet();
+        public final EntitySet dirty = new EntitySet();
+        public final EntitySet clogged = new EntitySet();
+
+        Facilities(Class<? extends Component> type) {
+            this.type = type;
+        }
+
+        void order(int[] ids, float[] x, int size) {
+            all.order(ids, x, size);
+            free.order(ids, x, size);
+            clean.order(ids, x, size);
+            cleanAndFree.order(ids, x, size);
+        }
+    }
+
+    protected ComponentMapper<Pos> mPos;
+    protected ComponentMapper<Bounds> mBounds;
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        index(toilets);
+        index(urinals);
+        index(sinks);
+    }
+
+    private void index(Facilities facilities) {
+        Class<? extends Component> type = facilities.type;
+        track(Aspect.all(type), facilities.all);
+        track(Aspect.all(type).exclude(InUse.class, Reserved.class), facilities.free);
+        track(Aspect.all(type).exclude(Dirty.class, Reserved.class), facilities.clean);
+        track(Aspect.all(type).exclude(Dirty.class, InUse.class, Reserved.class), facilities.cleanAndFree);
+        track(Aspect.all(type, Dirty.class), facilities.dirty);
+        track(Aspect.all(type, Clogged.class), facilities.clogged);
+    }
+
+    /**
+     * Lay out facilities by x, for nearest lookups. Facilities never move, so call once
+     * the level modules exist.
+     *
+     * @param moduleEntityIds level modules, facilities and others.
+     */
+    public void indexPositions(IntBag moduleEntityIds) {
+        indexPositions(toilets, moduleEntityIds);
+        indexPositions(urinals, moduleEntityIds);
+        indexPositions(sinks, moduleEntityIds);
+    }
+
+    private void indexPositions(Facilities facilities, IntBag moduleEntityIds) {
+        ComponentMapper<? extends Component> mType = world.getMapper(facilities.type);
+        int[] ids = new int[moduleEntityIds.size()];
+        float[] xs = new float[moduleEntityIds.size()];
+        int size = 0;
+        for (int i = 0, s = moduleEntityIds.size(); i < s; i++) {
+            int id = moduleEntityIds.get(i);
+            if (id == -1 || !mType.has(id)) continue;
+            float x = mPos.get(id).getX() + (mBounds.has(id) ? mBounds.get(id).minx : 0);
+
+            // modules are laid out left to right, so this rarely shifts.
+            int slot = size++;
+            while (slot > 0 && xs[slot - 1] > x) {
+                ids[slot] = ids[slot - 1];
+                xs[slot] = xs[slot - 1];
+                slot--;
+            }
+            ids[slot] = id;
+            xs[slot] = x;
+        }
+        facilities.order(ids, xs, size);
+    }
+
+    /** Claim a toilet, urinal or sink for visitor. Shared targets like exits are never reserved. */
+    public void reserve(E facility, E visitor) {
+        if (facility.hasToilet() || facility.hasUrinal() || facility.hasSink()) {
+            facility.reserved(visitor.id());
+        }
+    }
+
+    /** Release facility if reserved by visitor. */
+    public void release(E facility, E visitor) {
+        if (facility.hasReserved() && facility.reservedVisitorId() == visitor.id()) {
+            facility.removeReserved();
+        }
+    }
+
+    private void track(Aspect.Builder aspect, final EntitySet set) {
+        EntitySubscription subscription = world.getAspectSubscriptionManager().get(aspect);
+        addAll(set, subscription.getEntities());
+        subscription.addSubscriptionListener(new EntitySubscription.SubscriptionListener() {
+            @Override
+            public void inserted(IntBag entities) {
+                addAll(set, entities);
+            }
+
+            @Override
+            public void removed(IntBag entities) {
+                int[] ids = entities.getData();
+                for (int i = 0, s = entities.size(); i < s; i++) {
+                    set.remove(ids[i]);
+                }
+            }
+        });
+    }
+
+    private static void addAll(EntitySet set, IntBag entities) {
+        int[] ids = entities.getData();
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            set.add(ids[i]);
+        }
+    }
+}
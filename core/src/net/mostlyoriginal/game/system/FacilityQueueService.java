@@ -0,0 +1,113 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.E;
+import com.artemis.SuperMapper;
+import com.artemis.utils.Bag;
+import net.mostlyoriginal.api.system.core.PassiveSystem;
+import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.component.Queued;
+
+/**
+ * Lines of visitors waiting for a busy facility.
+ *
+ * Each facility has a line of at most {@link GameRules#FACILITY_QUEUE_LENGTH} visitors. When a
+ * facility is freed the first in line gets it straight away, without the others looking for
+ * a new target.
+ *
+ * @author Daan van Yperen
+ */
+public class FacilityQueueService extends PassiveSystem {
+
+    private FacilityIndexService facilityIndex;
+    private SuperMapper superMapper;
+
+    /** Lines by facility id. */
+    private final Bag<Line> lines = new Bag<Line>();
+
+    private static class Line {
+        final int[] visitors = new int[GameRules.FACILITY_QUEUE_LENGTH];
+        int head;
+        int size;
+        /** Tickets handed out and served, a visitor's place is their ticket minus served. */
+        int issued;
+        int served;
+
+        boolean isFull() {
+            return size == visitors.length;
+        }
+
+        void add(int visitorId) {
+            visitors[(head + size) % visitors.length] = visitorId;
+            size++;
+            issued++;
+        }
+
+        int poll() {
+            int visitorId = visitors[head];
+            head = (head + 1) % visitors.length;
+            size--;
+            served++;
+            return visitorId;
+        }
+    }
+
+    /** @return {@code true} if visitor joined the line, {@code false} if it is full. */
+    public boolean enqueue(E visitor, E facility) {
+        Line line = lineOf(facility.id());
+        if (line.isFull()) return false;
+        visitor.queued(facility.id(), line.issued);
+        line.add(visitor.id());
+        return true;
+    }
+
+    /** @return place of queued visitor in line, 0 being next. */
+    public int placeOf(E visitor) {
+        return placeOf(visitor.getQueued());
+    }
+
+    /** @return place in line, 0 being next. */
+    public int placeOf(Queued queued) {
+        Line line = lines.safeGet(queued.facilityId);
+        return line != null ? queued.ticket - line.served : 0;
+    }
+
+    /** @return number of visitors waiting for facility. */
+    public int lengthOf(E facility) {
+        Line line = lines.safeGet(facility.id());
+        return line != null ? line.size : 0;
+    }
+
+    /** @return {@code true} if the line of facility has no room for another visitor. */
+    public boolean isFull(int facilityId) {
+        Line line = lines.safeGet(facilityId);
+        return line != null && line.isFull();
+    }
+
+    /**
+     * Hand facility to the first visitor in line, who heads there with a reservation.
+     *
+     * @return {@code true} if anyone was waiting.
+     */
+    public boolean next(E facility) {
+        Line line = lines.safeGet(facility.id());
+        while (line != null && line.size > 0) {
+            int visitorId = line.poll();
+            if (!world.getEntityManager().isActive(visitorId)) continue;
+
+            E visitor = superMapper.getE(visitorId);
+            visitor.removeQueued().huntEntityId(facility.id());
+            facilityIndex.reserve(facility, visitor);
+            return true;
+        }
+        return false;
+    }
+
+    private Line lineOf(int facilityId) {
+        Line line = lines.safeGet(facilityId);
+        if (line == null) {
+            line = new Line();
+            lines.set(facilityId, line);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,69 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.BaseSystem;
+import com.artemis.SuperMapper;
+import com.artemis.managers.TagManager;
+import net.mostlyoriginal.api.system.physics.PhysicsSystem;
+
+/**
+ * Systems that drive gameplay, in processing order.
+ *
+ * Shared by {@link net.mostlyoriginal.game.screen.GameScreen} and headless worlds, so both run
+ * the exact same simulation. None of these touch graphics, audio or input directly; sound and
+ * keyboard go through {@link AudioService} and {@link InputService}.
+ *
+ * The input service comes first, so it samples the keyboard at the start of every tick.
+ *
+ * Every entity gameplay can create is created here too, status and feedback icons included, so
+ * worlds built from these systems allocate the same entity ids tick for tick. Artemis iterates
+ * entities by id, so a replay only plays out the same in a world with the same entities.
+ *
+ * @author Daan van Yperen
+ */
+public abstract class GameplaySystems {
+
+    /**
+     * Services gameplay depends on, for worlds to register before {@link #create}.
+     *
+     * @param audioService sound for gameplay, silent in headless worlds.
+     */
+    public static BaseSystem[] services(RandomService randomService, AudioService audioService) {
+        return new BaseSystem[]{
+                new SuperMapper(),
+                randomService,
+                new EmotionService(),
+                new TagManager(),
+                new TutorialService(),
+                new FacilityIndexService(),
+                new FacilityQueueService(),
+                audioService,
+                new AnimHandleService()
+        };
+    }
+
+    /** @param inputService keyboard for the player, processed as part of gameplay. */
+    public static BaseSystem[] create(InputService inputService) {
+        return new BaseSystem[]{
+                inputService,
+                new LevelSetupSystem(),
+                new EntranceSystem(),
+                new ReservationSystem(),
+                new DesireSystem(),
+                new HuntSystem(),
+                new QueueSystem(),
+                new UseSystem(),
+                new ToiletSystem(),
+                new SinkSystem(),
+                new UrinalSystem(),
+                new VisitorSystem(),
+                new PlayerControlSystem(),
+                new PlayerSystem(),
+                new ClockSystem(),
+                new CoinSystem(),
+                new StatusRenderSystem(),
+                new EffectsService(),
+                new PhysicsSystem(),
+                new TimerService()
+        };
+    }
+}
@@ -1,56 +1,188 @@
 package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
 import com.artemis.E;
+import com.artemis.SuperMapper;
+import com.artemis.utils.IntBag;
 import net.mostlyoriginal.api.component.basic.Bounds;
 import net.mostlyoriginal.api.component.basic.Pos;
+import net.mostlyoriginal.api.component.graphics.Anim;
 import net.mostlyoriginal.game.GameRules;
 import net.mostlyoriginal.game.component.Hunt;
-import net.mostlyoriginal.game.system.common.FluidSystem;
+import net.mostlyoriginal.game.component.Queued;
+import net.mostlyoriginal.game.component.Using;
+import net.mostlyoriginal.game.metrics.Counter;
 
-import static com.artemis.E.E;
 
 /**
+ * Walks visitors to their hunt target, and has them use it on arrival.
+ *
+ * Visitors waiting in line walk the same way, to their place in the line of a facility. They just
+ * wait there, facing the facility, until {@link QueueSystem} hands it to them.
+ *
+ * Walking is done in three passes: positions, targets and speeds are gathered into packed
+ * arrays, moved in one tight loop, and written back. Only arrivals go through {@link E}.
+ *
  * @author Daan van Yperen
  */
-public class HuntSystem extends FluidSystem {
+public class HuntSystem extends BaseEntitySystem {
+
+    private static final float ARRIVED = 0f;
 
     public HuntSystem() {
-        super(Aspect.all(Hunt.class, Pos.class, Bounds.class));
+        super(Aspect.all(Pos.class, Bounds.class).one(Hunt.class, Queued.class));
     }
 
     protected UseSystem useSystem;
+    private FacilityIndexService facilityIndex;
+    private FacilityQueueService facilityQueues;
+    private MetricsSystem metricsSystem;
+    private Counter rehuntCounter;
+    private SuperMapper superMapper;
+
+    protected ComponentMapper<Hunt> mHunt;
+    protected ComponentMapper<Queued> mQueued;
+    protected ComponentMapper<Pos> mPos;
+    protected ComponentMapper<Bounds> mBounds;
+    protected ComponentMapper<Anim> mAnim;
+    protected ComponentMapper<Using> mUsing;
 
+    private int count;
+    private int[] ids = new int[64];
+    private float[] xs = new float[64];
+    private float[] targetXs = new float[64];
+    private float[] speeds = new float[64];
+    /** 1 walking right, -1 walking left, {@link #ARRIVED}. */
+    private float[] directions = new float[64];
+    /** Walking to a place in line rather than to a target. */
+    private boolean[] queued = new boolean[64];
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        rehuntCounter = metricsSystem.registry.counter("visitor_rehunts_total");
+    }
 
     @Override
-    protected void process(E e) {
-
-        if (e.huntEntityId() != DesireSystem.MISSING_ENTITY_ID) {
-            E huntTarget = E(e.huntEntityId());
-
-            if ( walkTowards(e, huntTarget) )
-            {
-                if ( !huntTarget.hasInUse() ) {
-                    useSystem.startUsing(e, huntTarget);
-                } else {
-                    // hunt no longer valid. hunt something else!
-                    e.removeHunt();
+    protected void processSystem() {
+        move(getEntityIds(), world.delta);
+        for (int i = 0, s = count; i < s; i++) {
+            if (directions[i] == ARRIVED) {
+                int id = ids[i];
+                if (queued[i]) {
+                    // face the facility while waiting.
+                    mAnim.create(id).flippedX = false;
+                    continue;
                 }
+                if (!mUsing.has(id)) mAnim.create(id).age = 0;
+                arrive(E(id), E(mHunt.get(id).entityId));
+            }
+        }
+    }
+
+    /**
+     * Walk hunters towards their target, and queued visitors to their place in line, leaving
+     * arrivals in place.
+     *
+     * @param entities hunters with {@link Hunt} or queued visitors with {@link Queued}, and {@link Pos}.
+     */
+    void move(IntBag entities, float delta) {
+        gather(entities);
+        walk(delta);
+        scatter();
+    }
+
+    /** @return number of hunters moved by the last {@link #move}. */
+    int walkers() {
+        return count;
+    }
+
+    int walker(int index) {
+        return ids[index];
+    }
+
+    boolean hasArrived(int index) {
+        return directions[index] == ARRIVED;
+    }
+
+    private void gather(IntBag entities) {
+        ensureCapacity(entities.size());
+        int[] data = entities.getData();
+        count = 0;
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            int id = data[i];
+            Hunt hunt = mHunt.getSafe(id, null);
+            int targetId = hunt != null ? hunt.entityId : mQueued.get(id).facilityId;
+            if (targetId == DesireSystem.MISSING_ENTITY_ID) continue;
+
+            float targetX = mPos.get(targetId).getX() + mBounds.get(targetId).minx;
+            if (hunt == null) {
+                targetX -= (facilityQueues.placeOf(mQueued.get(id)) + 1) * GameRules.QUEUE_SPACING;
+            }
+
+            ids[count] = id;
+            xs[count] = mPos.get(id).getX();
+            targetXs[count] = targetX;
+            speeds[count] = GameRules.WALKING_SPEED_VISITORS;
+            queued[count] = hunt == null;
+            count++;
+        }
+    }
+
+    /** Step every visitor towards its target, stopping within one step. */
+    private void walk(float delta) {
+        final float[] xs = this.xs;
+        final float[] targetXs = this.targetXs;
+        final float[] speeds = this.speeds;
+        final float[] directions = this.directions;
+        for (int i = 0, s = count; i < s; i++) {
+            float x = xs[i];
+            float step = speeds[i] * delta;
+            float direction = x + step < targetXs[i] ? 1f : x - step > targetXs[i] ? -1f : ARRIVED;
+            directions[i] = direction;
+            xs[i] = x + direction * step;
+        }
+    }
+
+    private void scatter() {
+        for (int i = 0, s = count; i < s; i++) {
+            float direction = directions[i];
+            if (direction != ARRIVED) {
+                int id = ids[i];
+                mPos.get(id).setX(xs[i]);
+                mAnim.create(id).flippedX = direction < 0;
+            }
+        }
+    }
+
+    private void arrive(E e, E huntTarget) {
+        if ( !huntTarget.hasInUse() ) {
+            useSystem.startUsing(e, huntTarget);
+        } else {
+            // hunt no longer valid. hunt something else!
+            facilityIndex.release(huntTarget, e);
+            e.removeHunt();
+            if (e.hasDesire()) {
+                e.desireRehunts(e.desireRehunts() + 1);
+                rehuntCounter.inc();
             }
         }
     }
 
-    private boolean walkTowards(E actor, E huntTarget) {
-        float movementSpeed = world.delta * GameRules.WALKING_SPEED_VISITORS;
-        if (actor.posX() + movementSpeed < huntTarget.posX() + huntTarget.boundsMinx()) {
-            actor.posX(actor.posX() + movementSpeed);
-            actor.animFlippedX(false);
-            return false;
-        } else if (actor.posX() - movementSpeed > huntTarget.posX() + huntTarget.boundsMinx()) {
-            actor.posX(actor.posX() - movementSpeed);
-            actor.animFlippedX(true);
-            return false;
-        } else if ( !actor.hasUsing() ) { actor.animAge(0); }
-        return true;
+    private void ensureCapacity(int size) {
+        if (size <= ids.length) return;
+        int length = Math.max(size, ids.length * 2);
+        ids = new int[length];
+        xs = new float[length];
+        targetXs = new float[length];
+        speeds = new float[length];
+        directions = new float[length];
+        queued = new boolean[length];
+    }
+
+    private E E(int entityId) {
+        return superMapper.getE(entityId);
     }
 }
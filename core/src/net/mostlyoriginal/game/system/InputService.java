@@ -0,0 +1,73 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.BaseSystem;
+import com.badlogic.gdx.Input;
+import net.mostlyoriginal.game.replay.ReplayWriter;
+
+/**
+ * Keyboard state as polled by gameplay, sampled once per tick.
+ *
+ * Only {@link #KEYS} are tracked. The state of a tick packs held keys in the low byte and keys
+ * pressed since the previous tick in the next byte, so a whole tick of input can be recorded
+ * by {@link ReplayWriter} and played back as one number.
+ *
+ * Reports no keys by itself, so gameplay runs without a window.
+ * {@link net.mostlyoriginal.game.system.view.GdxInputService} polls the keyboard for real.
+ *
+ * @author Daan van Yperen
+ */
+public class InputService extends BaseSystem {
+
+    /** Keys gameplay polls, in bit order. */
+    public static final int[] KEYS = {
+            Input.Keys.E,
+            Input.Keys.SPACE,
+            Input.Keys.A,
+            Input.Keys.D,
+            Input.Keys.LEFT,
+            Input.Keys.RIGHT
+    };
+    public static final int JUST_PRESSED_SHIFT = 8;
+
+    private int state;
+    private ReplayWriter recorder;
+
+    /** Record the input of every tick from now on. */
+    public void record(ReplayWriter recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void processSystem() {
+        state = poll();
+        if (recorder != null) {
+            recorder.tick(world.getDelta(), state);
+        }
+    }
+
+    /** @return state of the tick about to run. */
+    protected int poll() {
+        return 0;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public boolean isKeyPressed(int key) {
+        return (state & bit(key)) != 0;
+    }
+
+    /** @return {@code true} during the tick after the key went down. */
+    public boolean isKeyJustPressed(int key) {
+        return (state & (bit(key) << JUST_PRESSED_SHIFT)) != 0;
+    }
+
+    /** @return state bit for a held key, or 0 for keys that are not tracked. */
+    public static int bit(int key) {
+        for (int i = 0; i < KEYS.length; i++) {
+            if (KEYS[i] == key) return 1 << i;
+        }
+        return 0;
+    }
+}
@@ -2,14 +2,15 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
+import com.artemis.annotations.Wire;
 import com.badlogic.gdx.math.MathUtils;
-import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.GameSession;
 import net.mostlyoriginal.game.component.BathroomLevel;
 import net.mostlyoriginal.game.component.Effect;
 import net.mostlyoriginal.game.system.common.FluidSystem;
 import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
+import net.mostlyoriginal.game.util.RandomStream;
 
-import static com.artemis.E.E;
 
 /**
  * @author Daan van Yperen
@@ -18,6 +19,7 @@ public class LevelSetupSystem extends FluidSystem {
 
     public static final int Y_OFFSET = 25;
     public static final int TOILET_Y = 48;
+    public static final int STRESS_MODULES_PER_ENTRANCE = 25;
     public Level activeLevel;
 
     public static class Level {
@@ -77,6 +79,37 @@ public class LevelSetupSystem extends FluidSystem {
             this.startDirty = b;
             return this;
         }
+
+        /**
+         * Generated level for stress testing, that never ends in a loss.
+         * Gets an extra entrance every {@link #STRESS_MODULES_PER_ENTRANCE} modules to keep up with spawning.
+         *
+         * @param modules          module count, including entrances, tips and supply closet.
+         * @param visitorsPerBurst most visitors per spawn burst, for each entrance.
+         */
+        public static Level stress(int modules, int visitorsPerBurst) {
+            final BathroomLevel.Type[] pattern = {
+                    BathroomLevel.Type.TOILET,
+                    BathroomLevel.Type.TOILET,
+                    BathroomLevel.Type.URINAL,
+                    BathroomLevel.Type.SINK,
+                    BathroomLevel.Type.POSTER
+            };
+
+            BathroomLevel.Type[] types = new BathroomLevel.Type[Math.max(3, modules)];
+            types[0] = BathroomLevel.Type.ENTRANCE;
+            types[1] = BathroomLevel.Type.TIPS;
+            for (int i = 2; i < types.length - 1; i++) {
+                types[i] = i % STRESS_MODULES_PER_ENTRANCE == 0 ? BathroomLevel.Type.ENTRANCE : pattern[i % pattern.length];
+            }
+            types[types.length - 1] = BathroomLevel.Type.SUPPLY_CLOSET;
+
+            return new Level("Stress: " + types.length + " modules, " + visitorsPerBurst + " per burst", types)
+                    .lossCount(Integer.MAX_VALUE)
+                    .clockSpeed(1)
+                    .spawnCount(Math.max(1, visitorsPerBurst / 2), Math.max(1, visitorsPerBurst))
+                    .spawnDelay(4, 1);
+        }
     }
 
     private Level introduction = new Level(
@@ -193,6 +226,15 @@ public class LevelSetupSystem extends FluidSystem {
             introduction, sinkOrSwim, procrastinationHurts, zeroTolerance, chili, panicLevel
     };
 
+    private RandomService randomService;
+    private AnimHandleService animHandles;
+    private RandomStream random;
+    private FacilityIndexService facilityIndex;
+
+    @Wire
+    private GameSession session;
+
+    /** Plays the custom level of the session if any, or else the session's level. */
     public LevelSetupSystem() {
         super(Aspect.all(BathroomLevel.class));
     }
@@ -200,9 +242,14 @@ public class LevelSetupSystem extends FluidSystem {
     @Override
     protected void initialize() {
         super.initialize();
+        random = randomService.stream(RandomService.LEVEL);
 
 //        E().bathroomLevelModules(level1);
-        loadLevel(levels[MathUtils.clamp(GameRules.level-1,0,levels.length-1)]);
+        if (session.customLevel != null) {
+            loadLevel(session.customLevel);
+        } else {
+            loadLevel(levels[MathUtils.clamp(session.level-1,0,levels.length-1)]);
+        }
     }
 
     private void loadLevel(Level level) {
@@ -235,6 +282,7 @@ public class LevelSetupSystem extends FluidSystem {
                 for (BathroomLevel.Type type : e.bathroomLevelModules()) {
                     e.bathroomLevelModuleEntityIds().add(initModule(type));
                 }
+                facilityIndex.indexPositions(e.bathroomLevelModuleEntityIds());
             }
         }
     }
@@ -286,6 +334,7 @@ public class LevelSetupSystem extends FluidSystem {
                 .render()
                 .bounds(0, 0, GameScreenAssetSystem.SUPPLY_CLOSET_WIDTH, GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
                 .anim("module_storage")
+                .scenery()
                 .interactableDuration(0)
                 .inventory();
 
@@ -309,7 +358,8 @@ public class LevelSetupSystem extends FluidSystem {
         E()
                 .pos(x, y)
                 .render(GameScreenAssetSystem.LAYER_BACKGROUND)
-                .anim(getBackground());
+                .anim(getBackground())
+                .scenery();
 
         E toiletBowl = E()
                 .pos(x, y + TOILET_Y)
@@ -319,7 +369,7 @@ public class LevelSetupSystem extends FluidSystem {
         String doorClosed = "module_part_door_closed";
         String doorOpen = "module_part_door_open";
 
-        if (MathUtils.random(1, 100) < 20) {
+        if (random.random(1, 100) < 20) {
             doorOpen = "module_part_handicap_door_open";
             doorClosed = "module_part_handicap_door_closed";
         }
@@ -328,8 +378,8 @@ public class LevelSetupSystem extends FluidSystem {
                 .pos(x + 4, y + TOILET_Y - 11)
                 .bounds(2, 0, GameScreenAssetSystem.TOILET_WIDTH, GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
                 .render(GameScreenAssetSystem.LAYER_TOILET_DOOR)
-                .anim(MathUtils.randomBoolean() ? doorClosed : doorOpen)
-                .interactable(doorClosed, doorOpen)
+                .anim(random.randomBoolean() ? doorClosed : doorOpen)
+                .interactable(animHandles.handle(doorClosed), animHandles.handle(doorOpen))
                 .interactableUseOffsetY(38)
                 .toiletBowlId(toiletBowl.id());
         if ( activeLevel.startDirty ) toilet.dirty();
@@ -341,7 +391,8 @@ public class LevelSetupSystem extends FluidSystem {
         E()
                 .pos(x, y)
                 .render(GameScreenAssetSystem.LAYER_BACKGROUND)
-                .anim(getBackground());
+                .anim(getBackground())
+                .scenery();
 
 
         E urinal = E()
@@ -363,14 +414,16 @@ public class LevelSetupSystem extends FluidSystem {
         E()
                 .pos(x, y)
                 .render(GameScreenAssetSystem.LAYER_BACKGROUND)
-                .anim(getBackground());
+                .anim(getBackground())
+                .scenery();
 
 
         return E()
                 .pos(x + 3, y + 92)
                 .render(GameScreenAssetSystem.LAYER_BACKGROUND+1)
                 .bounds(0, 0, GameScreenAssetSystem.ENTRANCE_WIDTH, GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
-                .anim("poster_" + MathUtils.random(1, 8))
+                .anim("poster_" + random.random(1, 8))
+                .scenery()
                 .id();
 
     }
@@ -385,7 +438,8 @@ public class LevelSetupSystem extends FluidSystem {
         E()
                 .pos(x, y)
                 .render(GameScreenAssetSystem.LAYER_BACKGROUND)
-                .anim(getBackground());
+                .anim(getBackground())
+                .scenery();
 
 
         E sink = E()
@@ -397,7 +451,7 @@ public class LevelSetupSystem extends FluidSystem {
                 .interactableDuration(1f)
                 .interactableUseOffsetY(44)
                 .sink();
-        if ( activeLevel.startDirty ) sink.dirtyLevel(MathUtils.random(0,2));
+        if ( activeLevel.startDirty ) sink.dirtyLevel(random.random(0,2));
         return sink
                 .id();
     }
@@ -408,14 +462,16 @@ public class LevelSetupSystem extends FluidSystem {
                 .render()
                 .bounds(32, 0, GameScreenAssetSystem.ENTRANCE_WIDTH, GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
                 .anim("module_entrance")
+                .scenery()
                 .id();
 
-        if (MathUtils.random(1, 4) <= 3) {
+        if (random.random(1, 4) <= 3) {
             E()
                     .pos(x + 64 + 3, y + 59)
                     .render()
                     .bounds(0, 0, GameScreenAssetSystem.ENTRANCE_WIDTH, GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
-                    .anim("poster_" + MathUtils.random(1, 8))
+                    .anim("poster_" + random.random(1, 8))
+                    .scenery()
                     .id();
         }
 
@@ -431,7 +487,7 @@ public class LevelSetupSystem extends FluidSystem {
                 .entranceMinCount(activeLevel.minCount)
                 .entranceMaxCount(activeLevel.maxCount)
                 .exit()
-                .interactable("module_part_main_door_open", "module_part_main_door_closed")
+                .interactable(animHandles.handle("module_part_main_door_open"), animHandles.handle("module_part_main_door_closed"))
                 .id();
 
     }
@@ -455,6 +511,7 @@ public class LevelSetupSystem extends FluidSystem {
                 .render()
                 .bounds(0, 0, GameScreenAssetSystem.TIPS_WIDTH, GameScreenAssetSystem.DEFAULT_MODULE_HEIGHT)
                 .anim("module_tips")
+                .scenery()
                 .tipBowlBowlId(tipbowl.id())
                 .tipBowlMaxAnger(activeLevel.lossCount)
                 .interactableDuration(0.0f)
@@ -0,0 +1,90 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.Aspect;
+import com.artemis.BaseSystem;
+import com.artemis.EntitySubscription;
+import net.mostlyoriginal.game.component.Desire;
+import net.mostlyoriginal.game.component.state.Clogged;
+import net.mostlyoriginal.game.component.state.Dirty;
+import net.mostlyoriginal.game.component.state.InUse;
+import net.mostlyoriginal.game.metrics.Gauge;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+
+/**
+ * Samples live entity counts into the metrics registry, and publishes it for exporters.
+ *
+ * Other systems record their own metrics through {@link #registry}.
+ *
+ * @author Daan van Yperen
+ */
+public class MetricsSystem extends BaseSystem {
+
+    /** Seconds between snapshots for exporters. */
+    public static final float PUBLISH_INTERVAL = 1f;
+
+    public final MetricsRegistry registry;
+    private final float publishInterval;
+    private float publishCooldown = 0;
+
+    private EntitySubscription entities;
+    private EntitySubscription visitors;
+    private EntitySubscription inUse;
+    private EntitySubscription dirty;
+    private EntitySubscription clogged;
+
+    private Gauge entityGauge;
+    private Gauge visitorGauge;
+    private Gauge inUseGauge;
+    private Gauge dirtyGauge;
+    private Gauge cloggedGauge;
+
+    public MetricsSystem(MetricsRegistry registry) {
+        this(registry, PUBLISH_INTERVAL);
+    }
+
+    /**
+     * @param publishInterval seconds between snapshots, 0 to only publish on request.
+     */
+    public MetricsSystem(MetricsRegistry registry, float publishInterval) {
+        this.registry = registry;
+        this.publishInterval = publishInterval;
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        entities = subscribe(Aspect.all());
+        visitors = subscribe(Aspect.all(Desire.class));
+        inUse = subscribe(Aspect.all(InUse.class));
+        dirty = subscribe(Aspect.all(Dirty.class));
+        clogged = subscribe(Aspect.all(Clogged.class));
+
+        entityGauge = registry.gauge("entities");
+        visitorGauge = registry.gauge("visitors");
+        inUseGauge = registry.gauge("facilities", "state", "in_use");
+        dirtyGauge = registry.gauge("facilities", "state", "dirty");
+        cloggedGauge = registry.gauge("facilities", "state", "clogged");
+    }
+
+    private EntitySubscription subscribe(Aspect.Builder aspect) {
+        return world.getAspectSubscriptionManager().get(aspect);
+    }
+
+    @Override
+    protected void processSystem() {
+        entityGauge.set(entities.getEntities().size());
+        visitorGauge.set(visitors.getEntities().size());
+        inUseGauge.set(inUse.getEntities().size());
+        dirtyGauge.set(dirty.getEntities().size());
+        cloggedGauge.set(clogged.getEntities().size());
+        registry.sample();
+
+        if (publishInterval > 0) {
+            publishCooldown -= world.delta;
+            if (publishCooldown <= 0) {
+                publishCooldown = publishInterval;
+                registry.publish();
+            }
+        }
+    }
+}
@@ -2,10 +2,12 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.annotations.Wire;
+import com.artemis.utils.Bag;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Align;
 import net.mostlyoriginal.api.component.basic.Pos;
 import net.mostlyoriginal.api.component.graphics.Invisible;
 import net.mostlyoriginal.api.component.graphics.Render;
@@ -19,6 +21,11 @@ import net.mostlyoriginal.api.system.delegate.DeferredEntityProcessingSystem;
 import net.mostlyoriginal.api.system.delegate.EntityProcessPrincipal;
 
 /**
+ * Renders labels from a text cache per entity.
+ *
+ * Glyphs are only laid out again when the text, font, scale or tint of a label changes, and
+ * moved when its position changes. An unchanged label costs one vertex copy per frame.
+ *
  * @author Daan van Yperen
  */
 public class MyLabelRenderSystem extends DeferredEntityProcessingSystem {
@@ -32,7 +39,7 @@ public class MyLabelRenderSystem extends DeferredEntityProcessingSystem {
     protected CameraSystem cameraSystem;
 
     protected SpriteBatch batch;
-    private GlyphLayout glyphLayout = new GlyphLayout();
+    private final Bag<CachedLabel> cached = new Bag<CachedLabel>();
 
     public MyLabelRenderSystem(EntityProcessPrincipal principal) {
         super(Aspect.all(Pos.class, Label.class, Render.class, BitmapFontAsset.class).exclude(Invisible.class), principal);
@@ -42,7 +49,6 @@ public class MyLabelRenderSystem extends DeferredEntityProcessingSystem {
     @Override
     protected void begin() {
         batch.setProjectionMatrix(cameraSystem.camera.combined);
-        batch.setColor(new Color(1f,0f,0f,1f));
         batch.begin();
     }
 
@@ -56,27 +62,83 @@ public class MyLabelRenderSystem extends DeferredEntityProcessingSystem {
         return true;
     }
 
+    @Override
+    protected void removed(int e) {
+        cached.set(e, null);
+        super.removed(e);
+    }
+
     protected void process(final int e) {
 
         final Label label = mLabel.get(e);
-        final Pos pos = mPos.get(e);
 
         if (label.text != null) {
+            cached(e, label).draw(batch);
+        }
+    }
+
+    /** @return text cache of entity, brought up to date with its label. */
+    private BitmapFontCache cached(int e, Label label) {
+        final BitmapFont font = mBitmapFontAsset.get(e).bitmapFont;
+        final float scale = mFont.get(e).scale;
+        final Color tint = mTint.getSafe(e, Tint.WHITE).color;
+        final float color = tint.toFloatBits();
+        final Pos pos = mPos.get(e);
+
+        CachedLabel cache = cached.safeGet(e);
+        if (cache == null || cache.font != font) {
+            cache = new CachedLabel(font);
+            cached.set(e, cache);
+        }
+
+        if (!label.text.equals(cache.text) || cache.align != label.align || cache.scale != scale || cache.color != color) {
+            cache.text = label.text;
+            cache.align = label.align;
+            cache.scale = scale;
+            cache.color = color;
+            cache.tint.set(tint);
+            layout(cache);
+        }
+
+        if (cache.x != pos.xy.x || cache.y != pos.xy.y) {
+            cache.x = pos.xy.x;
+            cache.y = pos.xy.y;
+            cache.glyphs.setPosition(cache.x, cache.y);
+        }
 
-            final BitmapFont font = mBitmapFontAsset.get(e).bitmapFont;
+        return cache.glyphs;
+    }
+
+    /** Lay out glyphs at the origin, the cache is positioned at the label separately. */
+    private void layout(CachedLabel cache) {
+        cache.font.getData().setScale(cache.scale);
+        cache.glyphs.clear();
+        cache.glyphs.setColor(cache.tint);
+        switch (cache.align) {
+            case LEFT:
+                cache.glyphs.addText(cache.text, 0, 0);
+                break;
+            case RIGHT:
+                cache.glyphs.addText(cache.text, 0, 0, 0, Align.right, false);
+                break;
+        }
+        cache.glyphs.setPosition(cache.x, cache.y);
+    }
 
-            font.getData().setScale(mFont.get(e).scale);
-            font.setColor(mTint.getSafe(e, Tint.WHITE).color);
+    private static class CachedLabel {
+        final BitmapFont font;
+        final BitmapFontCache glyphs;
+        String text;
+        Label.Align align;
+        float scale;
+        float color;
+        final Color tint = new Color();
+        float x;
+        float y;
 
-            switch ( label.align ) {
-                case LEFT:
-                    font.draw(batch, label.text, pos.xy.x, pos.xy.y);
-                    break;
-                case RIGHT:
-                    glyphLayout.setText(font,label.text);
-                    font.draw(batch, label.text, pos.xy.x - glyphLayout.width, pos.xy.y);
-                    break;
-            }
+        CachedLabel(BitmapFont font) {
+            this.font = font;
+            this.glyphs = new BitmapFontCache(font, font.usesIntegerPositions());
         }
     }
 }
@@ -2,14 +2,12 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import net.mostlyoriginal.game.component.BathroomLevel;
 import net.mostlyoriginal.game.component.Player;
 import net.mostlyoriginal.game.system.UseSystem;
 import net.mostlyoriginal.game.system.common.FluidSystem;
 
-import static com.artemis.E.*;
 
 /**
  * @author Daan van Yperen
@@ -24,6 +22,7 @@ public class PlayerControlSystem extends FluidSystem {
 
     protected UseSystem useSystem;
     protected CoinSystem coinSystem;
+    protected InputService inputService;
 
     public float lastUse = 0;
     public float autoClickCooldown = 0;
@@ -33,8 +32,8 @@ public class PlayerControlSystem extends FluidSystem {
         if (coinSystem.finishing) return;
         if (autoClickCooldown > 0 ) autoClickCooldown -= world.delta;
         lastUse += world.delta;
-        boolean justPressedAction = (Gdx.input.isKeyJustPressed(Input.Keys.E) || Gdx.input.isKeyJustPressed(Input.Keys.SPACE));
-        boolean pressedAction = (Gdx.input.isKeyPressed(Input.Keys.E) || Gdx.input.isKeyPressed(Input.Keys.SPACE));
+        boolean justPressedAction = (inputService.isKeyJustPressed(Input.Keys.E) || inputService.isKeyJustPressed(Input.Keys.SPACE));
+        boolean pressedAction = (inputService.isKeyPressed(Input.Keys.E) || inputService.isKeyPressed(Input.Keys.SPACE));
         if (!player.isMoving()
                 && (justPressedAction || pressedAction) ) {
             if (justPressedAction || autoClickCooldown <= 0) {
@@ -50,10 +49,10 @@ public class PlayerControlSystem extends FluidSystem {
             }
         } else {
             if (!player.isMoving()) {
-                if (Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+                if (inputService.isKeyPressed(Input.Keys.A) || inputService.isKeyPressed(Input.Keys.LEFT)) {
                     shiftPosition(player, -1);
                 }
-                if (Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+                if (inputService.isKeyPressed(Input.Keys.D) || inputService.isKeyPressed(Input.Keys.RIGHT)) {
                     shiftPosition(player, 1);
                 }
             }
@@ -0,0 +1,33 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.Aspect;
+import com.artemis.E;
+import net.mostlyoriginal.api.component.basic.Pos;
+import net.mostlyoriginal.game.component.Queued;
+import net.mostlyoriginal.game.system.common.FluidSystem;
+
+/**
+ * Hands facilities that free up unnoticed to the first visitor in their line.
+ *
+ * Facilities are normally handed over by {@link UseSystem} as they are freed. A facility that
+ * frees up otherwise, like a reservation running out, is picked up here by the first in line.
+ * {@link HuntSystem} walks queued visitors to their place in line.
+ *
+ * @author Daan van Yperen
+ */
+public class QueueSystem extends FluidSystem {
+
+    private FacilityQueueService facilityQueues;
+
+    public QueueSystem() {
+        super(Aspect.all(Queued.class, Pos.class));
+    }
+
+    @Override
+    protected void process(E e) {
+        E facility = E(e.queuedFacilityId());
+        if (facilityQueues.placeOf(e) == 0 && !facility.hasInUse() && !facility.hasReserved()) {
+            facilityQueues.next(facility);
+        }
+    }
+}
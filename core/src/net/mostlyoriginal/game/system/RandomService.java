@@ -0,0 +1,49 @@
+package net.mostlyoriginal.game.system;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.ObjectMap;
+import net.mostlyoriginal.api.system.core.PassiveSystem;
+import net.mostlyoriginal.game.util.RandomStream;
+
+/**
+ * Per world source of randomness for gameplay.
+ *
+ * Each concern draws from its own named stream, split from the world seed. Worlds with the same
+ * seed play out identically, and worlds never share a generator.
+ *
+ * @author Daan van Yperen
+ */
+public class RandomService extends PassiveSystem {
+
+    public static final String LEVEL = "level";
+    public static final String VISITORS = "visitors";
+    public static final String DESIRE = "desire";
+    public static final String USE = "use";
+    public static final String FX = "fx";
+
+    private final RandomStream root;
+    private final ObjectMap<String, RandomStream> streams = new ObjectMap<String, RandomStream>();
+
+    /** Unseeded, plays differently every time. */
+    public RandomService() {
+        this(MathUtils.random.nextLong());
+    }
+
+    public RandomService(long seed) {
+        root = new RandomStream(seed);
+    }
+
+    public long getSeed() {
+        return root.getSeed();
+    }
+
+    /** @return stream by name, created on first request. */
+    public RandomStream stream(String name) {
+        RandomStream stream = streams.get(name);
+        if (stream == null) {
+            stream = root.split(name);
+            streams.put(name, stream);
+        }
+        return stream;
+    }
+}
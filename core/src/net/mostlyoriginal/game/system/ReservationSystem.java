@@ -0,0 +1,34 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.Aspect;
+import com.artemis.E;
+import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.component.state.Reserved;
+import net.mostlyoriginal.game.system.common.FluidSystem;
+
+/**
+ * Releases facility reservations that timed out, or whose visitor stopped hunting or left.
+ *
+ * @author Daan van Yperen
+ */
+public class ReservationSystem extends FluidSystem {
+
+    public ReservationSystem() {
+        super(Aspect.all(Reserved.class));
+    }
+
+    @Override
+    protected void process(E e) {
+        e.reservedAge(e.reservedAge() + world.delta);
+        if (e.reservedAge() >= GameRules.RESERVATION_TIMEOUT || !isHunted(e)) {
+            e.removeReserved();
+        }
+    }
+
+    private boolean isHunted(E facility) {
+        int visitorId = facility.reservedVisitorId();
+        if (visitorId == -1 || !world.getEntityManager().isActive(visitorId)) return false;
+        E visitor = E(visitorId);
+        return visitor.hasHunt() && visitor.huntEntityId() == facility.id();
+    }
+}
@@ -3,15 +3,17 @@ package net.mostlyoriginal.game.system;
 import com.artemis.Aspect;
 import com.artemis.E;
 import net.mostlyoriginal.game.component.module.Sink;
-import net.mostlyoriginal.game.component.module.Urinal;
-import net.mostlyoriginal.game.system.common.FluidSystem;
+import net.mostlyoriginal.game.component.state.Dirty;
+import net.mostlyoriginal.game.system.common.ReactiveFluidSystem;
 
 /**
+ * Shows how dirty sinks are. Only runs when their state changes.
+ *
  * @author Daan van Yperen
  */
-public class SinkSystem extends FluidSystem {
+public class SinkSystem extends ReactiveFluidSystem {
     public SinkSystem() {
-        super(Aspect.all(Sink.class));
+        super(Aspect.all(Sink.class), Dirty.class);
     }
 
     @Override
@@ -2,12 +2,10 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
-import net.mostlyoriginal.api.system.camera.CameraSystem;
+import com.badlogic.gdx.utils.IntArray;
+import net.mostlyoriginal.api.component.graphics.Invisible;
 import net.mostlyoriginal.game.component.Inventory;
 import net.mostlyoriginal.game.component.Tutorial;
 import net.mostlyoriginal.game.component.module.TipBowl;
@@ -18,67 +16,49 @@ import net.mostlyoriginal.game.system.common.FluidSystem;
 import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
 
 /**
+ * Shows status icons above facilities, the tip bowl and the inventory.
+ *
+ * Icons are pooled entities at {@link GameScreenAssetSystem#LAYER_ICONS}, drawn in the shared sorted
+ * batch with all other anims. Icons left unused in a tick are hidden with {@link Invisible} for reuse.
+ *
+ * Runs per tick as part of {@link GameplaySystems}, so headless worlds create the same icon entities.
+ *
  * @author Daan van Yperen
  */
 public class StatusRenderSystem extends FluidSystem {
 
-    CameraSystem cameraSystem;
-    GameScreenAssetSystem assetSystem;
-    private TextureRegion iconCoin;
-    private TextureRegion iconTexture;
-    private TextureRegion iconSad;
-    private TextureRegion iconPlunger;
-    private TextureRegion iconMop;
+    private static final String[] ICON_PROGRESS = {"progress_0", "progress_25", "progress_50", "progress_75", "progress_100"};
 
     private TutorialService tutorialService;
 
     private float age;
-    private TextureRegion[] iconProgress = new TextureRegion[5];
-    private Animation animIconButton;
-    private TextureRegion iconPlungerAndMop;
+    private final IntArray icons = new IntArray();
+    private int shown;
+    private int lastShown;
 
     public StatusRenderSystem() {
         super(Aspect.one(TipBowl.class, Dirty.class, Clogged.class, Inventory.class, Toilet.class));
     }
 
-    private SpriteBatch batch;
-
     @Override
-    protected void initialize() {
-        batch = new SpriteBatch(100);
+    protected boolean checkProcessing() {
+        return true;
     }
 
     @Override
     protected void begin() {
         super.begin();
-
-        batch.setProjectionMatrix(cameraSystem.camera.combined);
-        batch.begin();
-        iconCoin = assetSystem.get("icon_coin").getKeyFrame(0);
-        iconTexture = assetSystem.get("icon_sad").getKeyFrame(0);
-        iconSad = assetSystem.get("icon_sad2").getKeyFrame(0);
-
-
-        iconPlunger = assetSystem.get("icon_plunger").getKeyFrame(0);
-        iconMop = assetSystem.get("icon_mop").getKeyFrame(0);
-        iconPlungerAndMop = assetSystem.get("icon_plunger_and_mop").getKeyFrame(0);
-
-
-        iconProgress[0] = assetSystem.get("progress_0").getKeyFrame(0);
-        iconProgress[1] = assetSystem.get("progress_25").getKeyFrame(0);
-        iconProgress[2] = assetSystem.get("progress_50").getKeyFrame(0);
-        iconProgress[3] = assetSystem.get("progress_75").getKeyFrame(0);
-        iconProgress[4] = assetSystem.get("progress_100").getKeyFrame(0);
-        animIconButton = assetSystem.get("icon_button");
-
-
+        shown = 0;
         age += world.delta;
     }
 
     @Override
     protected void end() {
         super.end();
-        batch.end();
+        for (int i = shown; i < lastShown; i++) {
+            E(icons.get(i)).invisible();
+        }
+        lastShown = shown;
     }
 
     @Override
@@ -109,9 +89,28 @@ public class StatusRenderSystem extends FluidSystem {
 
     }
 
+    /** Show icon this tick, reusing a pooled entity. */
+    private E icon(String animId, float x, float y) {
+        E icon;
+        if (shown < icons.size) {
+            icon = E(icons.get(shown));
+            if (shown >= lastShown) {
+                // hidden in an earlier tick.
+                icon.removeInvisible();
+            }
+            if (!icon.animId().equals(animId)) {
+                icon.anim(animId);
+            }
+        } else {
+            icon = E().renderLayer(GameScreenAssetSystem.LAYER_ICONS).anim(animId);
+            icons.add(icon.id());
+        }
+        shown++;
+        return icon.pos(x, y);
+    }
 
     private void renderInteractionE(E e, int x, int y) {
-        batch.draw(animIconButton.getKeyFrame(age * 0.4f, true), e.posX() + x, e.posY() + y);
+        icon("icon_button", e.posX() + x, e.posY() + y).animAge(age * 0.4f);
     }
 
 
@@ -129,11 +128,11 @@ public class StatusRenderSystem extends FluidSystem {
         int yOff = 64 + yBounce;
         int xOff = 4;
         if (e.isClogged() && e.hasDirty()) {
-            batch.draw(iconPlungerAndMop, e.posX() + xOff, 64 + yOff);
+            icon("icon_plunger_and_mop", e.posX() + xOff, 64 + yOff);
         } else if (e.isClogged()) {
-            batch.draw(iconPlunger, e.posX() + xOff, 64 + yOff);
+            icon("icon_plunger", e.posX() + xOff, 64 + yOff);
         } else if (e.hasDirty()) {
-            batch.draw(iconMop, e.posX() + xOff, 64 + yOff);
+            icon("icon_mop", e.posX() + xOff, 64 + yOff);
         }
     }
 
@@ -143,22 +142,22 @@ public class StatusRenderSystem extends FluidSystem {
             int percentage = (int) (MathUtils.clamp(e.inUseDuration() / e.interactableDuration(), 0f, 1f) * 100);
             // just to indicate player pressed the right button show some progress.
             if (percentage > 0 && percentage < 25) percentage = 25;
-            batch.draw(iconProgress[(percentage / 25)], e.posX() + 1, e.posY() + 68);
-            batch.draw(animIconButton.getKeyFrame(age, true), e.posX() + 3, e.posY() + 74);
+            icon(ICON_PROGRESS[(percentage / 25)], e.posX() + 1, e.posY() + 68);
+            icon("icon_button", e.posX() + 3, e.posY() + 74).animAge(age);
         }
     }
 
     private E getActor(int id) {
-        return E.E(id);
+        return E(id);
     }
 
     private void renderTipBowlUI(E e) {
         for (int i = 0; i < e.tipBowlCoins(); i++) {
-            batch.draw(iconCoin, 64 + i * 8, 24);
+            icon("icon_coin", 64 + i * 8, 24);
         }
 
         for (int i = 0; i < e.tipBowlMaxAnger(); i++) {
-            batch.draw(e.tipBowlAnger() > i ? iconTexture : iconSad, 28 + i * 8, 148);
+            icon(e.tipBowlAnger() > i ? "icon_sad" : "icon_sad2", 28 + i * 8, 148);
         }
     }
 }
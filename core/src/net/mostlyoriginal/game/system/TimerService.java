@@ -0,0 +1,224 @@
+package net.mostlyoriginal.game.system;
+
+import com.artemis.BaseSystem;
+import net.mostlyoriginal.game.GameRules;
+
+/**
+ * Calls back listeners once their delay has passed, at the granularity of a logic tick.
+ *
+ * Timers sit in a hierarchical timing wheel: {@link #LEVELS} rings of {@link #SLOTS} slots,
+ * each slot of a ring spanning a whole lap of the ring below. Timers are filed in the lowest
+ * ring that reaches them, and move down a ring as their time comes closer. Scheduling,
+ * cancelling and firing are all constant time, and waiting timers cost nothing per tick.
+ *
+ * Timers are stored in packed arrays and reused, so scheduling does not allocate once the
+ * arrays have grown. Cancel the timers of an entity before deleting it.
+ *
+ * @author Daan van Yperen
+ */
+public class TimerService extends BaseSystem {
+
+    /** Handle that never refers to a timer. */
+    public static final int NO_TIMER = -1;
+
+    public interface Listener {
+        /** @param entityId entity the timer was scheduled for. */
+        void timeout(int entityId);
+    }
+
+    private static final int SLOT_BITS = 6;
+    public static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    public static final int LEVELS = 4;
+    /** Timers beyond the top ring wait here, and are filed again each lap of the top ring. */
+    private static final int OVERFLOW = LEVELS * SLOTS;
+
+    /** Fraction of a tick ignored when rounding, so summed deltas do not lag a tick behind. */
+    private static final double ROUNDING = 1e-4;
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    /** Seconds per tick. */
+    private final float resolution;
+    private double elapsed = 0;
+    private long tick = 0;
+
+    /** First timer per slot, per ring, plus the overflow list. */
+    private final int[] heads = new int[LEVELS * SLOTS + 1];
+
+    private int capacity = 0;
+    private long[] deadlines = new long[0];
+    private int[] entityIds = new int[0];
+    private Listener[] listeners = new Listener[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+    /** Slot of each timer, or -1 when free. */
+    private int[] slots = new int[0];
+    /** Bumped on every reuse, so stale handles can not cancel a new timer. */
+    private int[] generations = new int[0];
+    private int firstFree = -1;
+    private int pending = 0;
+
+    public TimerService() {
+        this(GameRules.LOGIC_STEP);
+    }
+
+    /** @param resolution seconds per tick, timers fire on the first tick at or after their time. */
+    public TimerService(float resolution) {
+        this.resolution = resolution;
+        for (int i = 0; i < heads.length; i++) heads[i] = -1;
+    }
+
+    /**
+     * Call listener once seconds have passed.
+     *
+     * @return handle to {@link #cancel} the timer with.
+     */
+    public int schedule(float seconds, int entityId, Listener listener) {
+        int index = allocate();
+        long delay = (long) Math.ceil((elapsed + seconds) / resolution - ROUNDING) - tick;
+        deadlines[index] = tick + Math.max(1, delay);
+        entityIds[index] = entityId;
+        listeners[index] = listener;
+        file(index);
+        pending++;
+        return handle(index);
+    }
+
+    /** Stop timer from firing. Ignores timers that already fired or were cancelled. */
+    public void cancel(int handle) {
+        if (handle == NO_TIMER) return;
+        int index = handle & INDEX_MASK;
+        if (index >= capacity || slots[index] == -1 || handle(index) != handle) return;
+        unlink(index);
+        release(index);
+        pending--;
+    }
+
+    /** @return number of timers waiting to fire. */
+    public int pending() {
+        return pending;
+    }
+
+    @Override
+    protected void processSystem() {
+        elapsed += world.delta;
+        long target = (long) (elapsed / resolution + ROUNDING);
+        while (tick < target) {
+            tick++;
+            cascade();
+            fire((int) (tick & SLOT_MASK));
+        }
+    }
+
+    /** Move timers of the slot that just came up in each ring down to a lower ring. */
+    private void cascade() {
+        if ((tick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+            refile(OVERFLOW);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = SLOT_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                refile(level * SLOTS + (int) ((tick >> shift) & SLOT_MASK));
+            }
+        }
+    }
+
+    private void refile(int slot) {
+        int index = heads[slot];
+        heads[slot] = -1;
+        while (index != -1) {
+            int following = next[index];
+            file(index);
+            index = following;
+        }
+    }
+
+    /** Fire timers one by one, listeners may cancel the others. */
+    private void fire(int slot) {
+        while (heads[slot] != -1) {
+            int index = heads[slot];
+            int entityId = entityIds[index];
+            Listener listener = listeners[index];
+            unlink(index);
+            release(index);
+            pending--;
+            listener.timeout(entityId);
+        }
+    }
+
+    /** File timer in the lowest ring whose current lap reaches its deadline. */
+    private void file(int index) {
+        long deadline = deadlines[index];
+        int slot = OVERFLOW;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadline >> shift) == (tick >> shift)) {
+                slot = level * SLOTS + (int) ((deadline >> (SLOT_BITS * level)) & SLOT_MASK);
+                break;
+            }
+        }
+        slots[index] = slot;
+        previous[index] = -1;
+        next[index] = heads[slot];
+        if (heads[slot] != -1) previous[heads[slot]] = index;
+        heads[slot] = index;
+    }
+
+    private void unlink(int index) {
+        if (previous[index] != -1) next[previous[index]] = next[index];
+        else heads[slots[index]] = next[index];
+        if (next[index] != -1) previous[next[index]] = previous[index];
+    }
+
+    private int allocate() {
+        if (firstFree == -1) grow();
+        int index = firstFree;
+        firstFree = next[index];
+        generations[index]++;
+        return index;
+    }
+
+    private void release(int index) {
+        slots[index] = -1;
+        listeners[index] = null;
+        next[index] = firstFree;
+        firstFree = index;
+    }
+
+    private int handle(int index) {
+        return (generations[index] << INDEX_BITS | index) & Integer.MAX_VALUE;
+    }
+
+    private void grow() {
+        int length = Math.max(64, capacity * 2);
+        long[] newDeadlines = new long[length];
+        int[] newEntityIds = new int[length];
+        Listener[] newListeners = new Listener[length];
+        int[] newNext = new int[length];
+        int[] newPrevious = new int[length];
+        int[] newSlots = new int[length];
+        int[] newGenerations = new int[length];
+        System.arraycopy(deadlines, 0, newDeadlines, 0, capacity);
+        System.arraycopy(entityIds, 0, newEntityIds, 0, capacity);
+        System.arraycopy(listeners, 0, newListeners, 0, capacity);
+        System.arraycopy(next, 0, newNext, 0, capacity);
+        System.arraycopy(previous, 0, newPrevious, 0, capacity);
+        System.arraycopy(slots, 0, newSlots, 0, capacity);
+        System.arraycopy(generations, 0, newGenerations, 0, capacity);
+        for (int i = capacity; i < length; i++) {
+            newSlots[i] = -1;
+            newNext[i] = i + 1 < length ? i + 1 : firstFree;
+        }
+        firstFree = capacity;
+        capacity = length;
+        deadlines = newDeadlines;
+        entityIds = newEntityIds;
+        listeners = newListeners;
+        next = newNext;
+        previous = newPrevious;
+        slots = newSlots;
+        generations = newGenerations;
+    }
+}
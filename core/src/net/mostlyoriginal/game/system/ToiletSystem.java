@@ -3,19 +3,23 @@ package net.mostlyoriginal.game.system;
 import com.artemis.Aspect;
 import com.artemis.E;
 import net.mostlyoriginal.game.component.module.Toilet;
-import net.mostlyoriginal.game.system.common.FluidSystem;
+import net.mostlyoriginal.game.component.state.Clogged;
+import net.mostlyoriginal.game.component.state.Dirty;
+import net.mostlyoriginal.game.system.common.ReactiveFluidSystem;
 
 /**
+ * Shows how dirty toilets are. Only runs when their state changes.
+ *
  * @author Daan van Yperen
  */
-public class ToiletSystem extends FluidSystem {
+public class ToiletSystem extends ReactiveFluidSystem {
     public ToiletSystem() {
-        super(Aspect.all(Toilet.class));
+        super(Aspect.all(Toilet.class), Dirty.class, Clogged.class);
     }
 
     @Override
     protected void process(E e) {
-        E bowl = E.E(e.toiletBowlId());
+        E bowl = E(e.toiletBowlId());
         if (e.hasDirty() && e.isClogged()) {
             if (e.dirtyLevel() == 2) {
                 bowl.anim("module_part_toilet_dirty_clogged_2");
@@ -1,6 +1,6 @@
 package net.mostlyoriginal.game.system;
 
-import com.artemis.E;
+import com.artemis.ComponentMapper;
 import com.artemis.managers.TagManager;
 import net.mostlyoriginal.api.system.core.PassiveSystem;
 import net.mostlyoriginal.game.component.Tutorial;
@@ -10,6 +10,7 @@ import net.mostlyoriginal.game.component.Tutorial;
  */
 public class TutorialService extends PassiveSystem {
     TagManager tagManager;
+    ComponentMapper<Tutorial> mTutorial;
 
     public Tutorial.Step step() {
         Tutorial tutorial = getTutorial();
@@ -18,7 +19,7 @@ public class TutorialService extends PassiveSystem {
 
     private Tutorial getTutorial() {
         int id = tagManager.getEntityId("tutorial");
-        return id != -1 ? E.E(id).getTutorial() : null;
+        return id != -1 ? mTutorial.get(id) : null;
     }
 
     public void next() {
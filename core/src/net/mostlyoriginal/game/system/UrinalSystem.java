@@ -3,14 +3,17 @@ package net.mostlyoriginal.game.system;
 import com.artemis.Aspect;
 import com.artemis.E;
 import net.mostlyoriginal.game.component.module.Urinal;
-import net.mostlyoriginal.game.system.common.FluidSystem;
+import net.mostlyoriginal.game.component.state.Dirty;
+import net.mostlyoriginal.game.system.common.ReactiveFluidSystem;
 
 /**
+ * Shows how dirty urinals are. Only runs when their state changes.
+ *
  * @author Daan van Yperen
  */
-public class UrinalSystem extends FluidSystem {
+public class UrinalSystem extends ReactiveFluidSystem {
     public UrinalSystem() {
-        super(Aspect.all(Urinal.class));
+        super(Aspect.all(Urinal.class), Dirty.class);
     }
 
     @Override
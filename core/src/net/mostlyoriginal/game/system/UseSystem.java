@@ -2,16 +2,15 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
-import com.badlogic.gdx.math.MathUtils;
-import net.mostlyoriginal.api.system.graphics.RenderBatchingSystem;
 import net.mostlyoriginal.game.GameRules;
 import net.mostlyoriginal.game.component.*;
 import net.mostlyoriginal.game.component.module.Sink;
 import net.mostlyoriginal.game.component.state.InUse;
+import net.mostlyoriginal.game.metrics.Histogram;
 import net.mostlyoriginal.game.system.common.FluidSystem;
-import net.mostlyoriginal.game.system.view.GameScreenAssetSystem;
+import net.mostlyoriginal.game.system.view.LayeredRenderBatchingSystem;
+import net.mostlyoriginal.game.util.RandomStream;
 
-import static com.artemis.E.E;
 import static net.mostlyoriginal.game.system.view.GameScreenAssetSystem.LAYER_ACTORS;
 import static net.mostlyoriginal.game.system.view.GameScreenAssetSystem.LAYER_ACTORS_BUSY;
 import static net.mostlyoriginal.game.system.view.GameScreenAssetSystem.LAYER_PLAYER;
@@ -25,14 +24,45 @@ public class UseSystem extends FluidSystem {
     public static final float COOLDOWN_AFTER_USAGE = 0.8f;
     private CoinSystem coinSystem;
     private TutorialService tutorialService;
+    private RandomService randomService;
+    private AnimHandleService animHandles;
+    private RandomStream random;
+    private FacilityIndexService facilityIndex;
+    private FacilityQueueService facilityQueues;
+    private MetricsSystem metricsSystem;
+    private Histogram rehuntHistogram;
+    private TimerService timerService;
+    private ToiletSystem toiletSystem;
+    private SinkSystem sinkSystem;
+
+    private final TimerService.Listener cooledDown = new TimerService.Listener() {
+        @Override
+        public void timeout(int entityId) {
+            E(entityId).interactableCooldownBefore(0);
+        }
+    };
+
+    private final TimerService.Listener usingSfx = new TimerService.Listener() {
+        @Override
+        public void timeout(int entityId) {
+            playUsingSfx(E(entityId));
+        }
+    };
 
     public UseSystem() {
         super(Aspect.all(InUse.class, Interactable.class));
     }
 
-    GameScreenAssetSystem assetSystem;
+    @Override
+    protected void initialize() {
+        super.initialize();
+        random = randomService.stream(RandomService.USE);
+        rehuntHistogram = metricsSystem.registry.histogram("visitor_rehunts");
+    }
+
+    AudioService audioService;
     LevelSetupSystem levelSetupSystem;
-    RenderBatchingSystem renderBatchingSystem;
+    LayeredRenderBatchingSystem renderBatchingSystem;
     EmotionService emotionService;
 
     @Override
@@ -57,26 +87,26 @@ public class UseSystem extends FluidSystem {
     }
 
     private void continueUsing(E e, E actor) {
-        if (e.interactableEndAnimId() != null) {
-            e.anim(e.interactableStartAnimId());
-        }
-        if (actor.hasUsing() && actor.usingSfxCooldown() > 0 && !actor.hasPlayer()) {
-            actor.usingSfxCooldown(actor.usingSfxCooldown() - world.delta);
-            if (actor.usingSfxCooldown() <= 0) {
-                if (e.hasToilet()) {
-                    assetSystem.playPoopSfx();
-                    actor.posY(actor.posY() + actor.usingSfxOffset());
-                    actor.usingSfxOffset(-actor.usingSfxOffset());
-                }
-                // 50% chance of chaining poops.
-                if (MathUtils.random(1, 100) < 50) {
-                    actor.usingSfxCooldown(MathUtils.random(0.2f, 0.8f));
+        if (e.interactableEndAnimId() != AnimHandleService.NO_ANIM) {
+            e.anim(animHandles.id(e.interactableStartAnimId()));
+        }
+    }
 
-                    // poop longerrrr!
-                    e.inUseDuration(e.inUseDuration() - 0.4f);
-                }
-            }
+    /** Timed by {@link #usingSfx} while a visitor uses something. */
+    private void playUsingSfx(E actor) {
+        actor.usingSfxTimer(TimerService.NO_TIMER);
+        E e = E(actor.usingUsingId());
+        if (e.hasToilet()) {
+            audioService.playPoopSfx();
+            actor.posY(actor.posY() + actor.usingSfxOffset());
+            actor.usingSfxOffset(-actor.usingSfxOffset());
+        }
+        // 50% chance of chaining poops.
+        if (random.random(1, 100) < 50) {
+            actor.usingSfxTimer(timerService.schedule(random.random(0.2f, 0.8f), actor.id(), usingSfx));
 
+            // poop longerrrr!
+            e.inUseDuration(e.inUseDuration() - 0.4f);
         }
     }
 
@@ -84,6 +114,7 @@ public class UseSystem extends FluidSystem {
         if (e.inUseUserId() != -1) {
             E actor = getActor(e);
             e.interactableCooldownBefore(COOLDOWN_AFTER_USAGE);
+            timerService.schedule(COOLDOWN_AFTER_USAGE, e.id(), cooledDown);
             applyEffects(e, actor);
             stopBeingUsed(e, actor);
         }
@@ -151,6 +182,7 @@ public class UseSystem extends FluidSystem {
             if (!isHappyEnoughToTip(actor)) {
                 coinSystem.leaveAngrily(actor);
             }
+            rehuntHistogram.record(actor.desireRehunts());
             actor.deleteFromWorld();
         }
     }
@@ -186,10 +218,11 @@ public class UseSystem extends FluidSystem {
     }
 
     private void worsenToiletState(E thing) {
-        if (MathUtils.random(1, 100) <= GameRules.PERCENTAGE_CHANCE_OF_TOILET_DIRTY_ESCALATION) {
+        if (random.random(1, 100) <= GameRules.PERCENTAGE_CHANCE_OF_TOILET_DIRTY_ESCALATION) {
             if (thing.hasDirty()) {
                 if (thing.dirtyLevel() == 1) thing.dirtyLevel(2);
                 if (thing.dirtyLevel() == 0) thing.dirtyLevel(1);
+                toiletSystem.invalidate(thing.id());
                 // if dirty, become clogged as well.
                 thing.clogged();
             } else if (thing.isClogged()) {
@@ -197,7 +230,7 @@ public class UseSystem extends FluidSystem {
                 thing.dirty();
             } else {
                 // become dirty or clogged randomly.
-                if (MathUtils.randomBoolean()) {
+                if (random.randomBoolean()) {
                     thing.dirty();
                 } else {
                     thing.clogged();
@@ -207,16 +240,17 @@ public class UseSystem extends FluidSystem {
     }
 
     private void worsenUrinalState(E thing) {
-        if (MathUtils.random(1, 100) <= GameRules.PERCENTAGE_CHANCE_OF_URINAL_DIRTY_ESCALATION) {
+        if (random.random(1, 100) <= GameRules.PERCENTAGE_CHANCE_OF_URINAL_DIRTY_ESCALATION) {
             thing.dirty();
         }
     }
 
 
     private void worsenSinkState(E thing) {
-        if (MathUtils.random(1, 100) <= GameRules.PERCENTAGE_CHANCE_OF_SINK_DIRTY_ESCALATION) {
+        if (random.random(1, 100) <= GameRules.PERCENTAGE_CHANCE_OF_SINK_DIRTY_ESCALATION) {
             if (thing.hasDirty()) {
                 thing.dirtyLevel(1);
+                sinkSystem.invalidate(thing.id());
             } else {
                 thing.dirty();
             }
@@ -227,25 +261,27 @@ public class UseSystem extends FluidSystem {
     public void stopBeingUsed(E item, E actor) {
         actor.renderLayer(actor.hasPlayer() ? LAYER_PLAYER : LAYER_ACTORS);
         actor.posY(actor.posY() - item.interactableUseOffsetY());
-        renderBatchingSystem.sortedDirty = true;
+        renderBatchingSystem.layerChanged(actor.id());
 
         if (!actor.hasPlayer() && (item.hasToilet() || item.hasUrinal())) {
-            assetSystem.playFlushSfx();
+            audioService.playFlushSfx();
         }
         if (item.hasExit() || item.hasEntrance()) {
-            assetSystem.playDoorCloseSfx();
+            audioService.playDoorCloseSfx();
         }
         if (item.hasToilet()) {
-            assetSystem.playDoorCloseSfx();
+            audioService.playDoorCloseSfx();
         }
 
-        if (item.interactableEndAnimId() != null) {
-            item.anim(item.interactableEndAnimId());
+        if (item.interactableEndAnimId() != AnimHandleService.NO_ANIM) {
+            item.anim(animHandles.id(item.interactableEndAnimId()));
         }
         if (item.inUseUserId() != -1) {
+            timerService.cancel(actor.usingSfxTimer());
             actor.removeUsing();
         }
         item.removeInUse();
+        facilityQueues.next(item);
     }
 
     public void startUsing(E actor, E item) {
@@ -261,19 +297,19 @@ public class UseSystem extends FluidSystem {
             if (actor.hasPlayer() && !item.isInventory()) {
                 switch (actor.playerTool()) {
                     case PLUNGER:
-                        assetSystem.playPlungerSfx();
+                        audioService.playPlungerSfx();
                         break;
                     case MOP:
-                        assetSystem.playMopSfx();
+                        audioService.playMopSfx();
                         break;
                 }
             }
             if (!actor.hasPlayer()) {
                 if (item.hasUrinal()) {
-                    assetSystem.playPeeSfx();
+                    audioService.playPeeSfx();
                 }
                 if (item.hasSink()) {
-                    assetSystem.playSinkSfx();
+                    audioService.playSinkSfx();
                 }
             }
 
@@ -300,19 +336,24 @@ public class UseSystem extends FluidSystem {
         }
 
         if (item.hasExit() || item.hasEntrance()) {
-            assetSystem.playDoorOpenSfx();
+            audioService.playDoorOpenSfx();
         }
         if (item.hasToilet()) {
-            assetSystem.playDoorCloseSfx();
+            audioService.playDoorCloseSfx();
         }
         if (item.isInventory()) {
-            assetSystem.playSuppliesSfx();
+            audioService.playSuppliesSfx();
         }
 
+        facilityIndex.release(item, actor);
         actor.removeHunt().renderLayer(LAYER_ACTORS_BUSY);
         actor.posY(actor.posY() + item.interactableUseOffsetY());
-        renderBatchingSystem.sortedDirty = true;
+        renderBatchingSystem.layerChanged(actor.id());
+        float sfxDelay = random.random(0.4f, 0.8f);
         actor.using(item.id());
+        if (!actor.hasPlayer()) {
+            actor.usingSfxTimer(timerService.schedule(sfxDelay, actor.id(), usingSfx));
+        }
         item.inUse(actor.id());
     }
 
@@ -2,82 +2,59 @@ package net.mostlyoriginal.game.system;
 
 import com.artemis.Aspect;
 import com.artemis.E;
+import com.artemis.Entity;
 import net.mostlyoriginal.api.component.basic.Pos;
 import net.mostlyoriginal.game.component.Desire;
 import net.mostlyoriginal.game.system.common.FluidSystem;
+import net.mostlyoriginal.game.util.VisitorAnimTable;
 
-import static com.artemis.E.*;
 
 /**
+ * Animates visitors by what they are doing, their mood and their looks.
+ *
+ * Remembers which anim each visitor shows, so anims are only looked up again when one of those
+ * changes.
+ *
  * @author Daan van Yperen
  */
 public class VisitorSystem extends FluidSystem {
+
+    /** Visitor looks, anim ids end in 1 to 7. */
+    public static final int SKIN_COUNT = VisitorAnimTable.SKIN_COUNT;
+
+    private final VisitorAnimTable anims = new VisitorAnimTable();
+    /** Table slot of the anim shown per visitor, plus one. 0 before the first update. */
+    private int[] shown = new int[128];
+
     public VisitorSystem() {
         super(Aspect.all(Desire.class, Pos.class));
     }
 
     @Override
-    protected void process(E e) {
-        if (e.hasUsing()) {
-            E device = E(e.usingUsingId());
-            applyAnim(e,
-                    (device.hasSink() ? getAnimWash(e) :
-                    (device.hasToilet() ? getAnimPoop(e) : getAnimPee(e))) + e.desireIndex());
-        } else {
-            applyAnim(e, getAnimNormal(e)+ e.desireIndex());
-        }
-    }
-
-    private String getAnimPee(E e) {
-        switch (e.emotionState()) {
-            case HAPPY:
-                return "visitor_pee_happy";
-            case ANGRY:
-                return "visitor_pee_angry";
-            case ENRAGED:
-                return "visitor_pee_enraged";
-            default:
-                return "visitor_pee_neutral";
+    public void inserted(Entity e) {
+        int id = e.getId();
+        if (id >= shown.length) {
+            int[] grown = new int[Math.max(shown.length * 2, id + 1)];
+            System.arraycopy(shown, 0, grown, 0, shown.length);
+            shown = grown;
         }
+        shown[id] = 0;
     }
 
-    private String getAnimPoop(E e ) {
-        switch (e.emotionState()) {
-            case HAPPY:
-                return "visitor_poop_happy";
-            case ANGRY:
-                return "visitor_poop_angry";
-            case ENRAGED:
-                return "visitor_poop_enraged";
-            default:
-                return "visitor_poop_neutral";
-        }
-    }
-
-
-    private String getAnimWash(E e ) {
-        switch (e.emotionState()) {
-            case HAPPY:
-                return "visitor_wash_happy";
-            case ANGRY:
-                return "visitor_wash_angry";
-            case ENRAGED:
-                return "visitor_wash_enraged";
-            default:
-                return "visitor_wash_neutral";
+    @Override
+    protected void process(E e) {
+        VisitorAnimTable.Action action = VisitorAnimTable.Action.WALK;
+        if (e.hasUsing()) {
+            E device = E(e.usingUsingId());
+            action = device.hasSink() ? VisitorAnimTable.Action.WASH :
+                    device.hasToilet() ? VisitorAnimTable.Action.POOP : VisitorAnimTable.Action.PEE;
         }
-    }
 
-    private String getAnimNormal(E e) {
-        switch (e.emotionState()) {
-            case HAPPY:
-                return "visitor_happy";
-            case ANGRY:
-                return "visitor_angry";
-            case ENRAGED:
-                return "visitor_enraged";
-            default:
-                return "visitor_neutral";
+        int slot = VisitorAnimTable.slot(action, e.emotionState(), e.desireIndex());
+        int id = e.id();
+        if (shown[id] != slot + 1) {
+            shown[id] = slot + 1;
+            applyAnim(e, anims.id(slot));
         }
     }
 
@@ -0,0 +1,132 @@
+package net.mostlyoriginal.game.system.common;
+
+import com.artemis.BaseSystem;
+import com.artemis.SystemInvocationStrategy;
+import com.artemis.utils.BitVector;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import net.mostlyoriginal.game.metrics.Counter;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+
+/**
+ * Runs logic systems at a fixed tick rate, and all other systems once per rendered frame.
+ *
+ * Frame time is accumulated and spent in whole ticks, so logic always integrates the same delta
+ * and costs the same per second whatever the display refresh rate. Presentation systems see the
+ * frame delta, with positions interpolated between the last two ticks by {@link PositionInterpolator}.
+ *
+ * The speed multiplier warps game time: at 10x every frame runs ten times the ticks, while
+ * rendering and audio still run once. A frame never runs more than {@link #MAX_TICKS_PER_FRAME}
+ * ticks, game time beyond that is dropped rather than caught up on, so a slow frame at high warp
+ * can't queue up more work than the next frame can do.
+ *
+ * Systems are timed as in {@link MeasuredInvocationStrategy}, a whole frame counts as one world process.
+ *
+ * Register with {@link com.artemis.WorldConfigurationBuilder#register(SystemInvocationStrategy)}.
+ *
+ * @author Daan van Yperen
+ */
+public class FixedStepInvocationStrategy extends MeasuredInvocationStrategy {
+
+    /** Longest frame we catch up on, so a hitch can't spiral into ever more catch-up ticks. */
+    public static final float MAX_FRAME_TIME = 0.25f;
+    /** Most ticks run in one frame, enough for {@link #MAX_SPEED} at 30 frames per second. */
+    public static final int MAX_TICKS_PER_FRAME = 200;
+    public static final float MAX_SPEED = 100f;
+
+    private final float step;
+    private final BaseSystem[] logicSystems;
+    private final BitVector logic = new BitVector();
+
+    private PositionInterpolator interpolator;
+    private Counter tickCounter;
+    private float accumulator = 0;
+    private float speed = 1;
+    private long ticks = 0;
+
+    /**
+     * @param step         seconds per logic tick.
+     * @param metrics      registry for system timings.
+     * @param logicSystems systems to run at the fixed tick rate.
+     */
+    public FixedStepInvocationStrategy(float step, MetricsRegistry metrics, BaseSystem... logicSystems) {
+        super(metrics);
+        this.step = step;
+        this.logicSystems = logicSystems;
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        BaseSystem[] systemsData = systems.getData();
+        for (int i = 0, s = systems.size(); s > i; i++) {
+            for (BaseSystem logicSystem : logicSystems) {
+                if (systemsData[i] == logicSystem) {
+                    logic.set(i);
+                }
+            }
+        }
+        interpolator = new PositionInterpolator(world);
+        tickCounter = metrics.counter("logic_ticks_total");
+    }
+
+    @Override
+    protected void process() {
+        long start = TimeUtils.nanoTime();
+        float frameDelta = world.getDelta();
+
+        accumulator += Math.min(frameDelta, MAX_FRAME_TIME) * speed;
+        for (int i = 0; i < MAX_TICKS_PER_FRAME && accumulator >= step; i++) {
+            accumulator -= step;
+            tick();
+        }
+        if (accumulator >= step) {
+            // behind, drop the surplus.
+            accumulator %= step;
+        }
+
+        world.setDelta(frameDelta);
+        interpolator.interpolate(accumulator / step);
+        processGroup(false);
+        interpolator.restore();
+        recordWorldTime(TimeUtils.nanoTime() - start);
+    }
+
+    private void tick() {
+        world.setDelta(step);
+        interpolator.beforeTick();
+        processGroup(true);
+        ticks++;
+        tickCounter.inc();
+    }
+
+    private void processGroup(boolean logicGroup) {
+        for (int i = 0, s = systems.size(); s > i; i++) {
+            if (disabled.get(i) || logic.get(i) != logicGroup)
+                continue;
+
+            updateEntityStates();
+            processSystem(i);
+        }
+
+        updateEntityStates();
+    }
+
+    /** @return logic ticks run since the world was created. */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public float getStep() {
+        return step;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    /** @param speed game time per real time, 1 for normal play. Clamped between 0 and {@link #MAX_SPEED}. */
+    public void setSpeed(float speed) {
+        this.speed = MathUtils.clamp(speed, 0f, MAX_SPEED);
+    }
+}
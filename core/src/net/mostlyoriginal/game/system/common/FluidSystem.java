@@ -3,16 +3,21 @@ package net.mostlyoriginal.game.system.common;
 import com.artemis.Aspect;
 import com.artemis.E;
 import com.artemis.Entity;
+import com.artemis.SuperMapper;
 import com.artemis.systems.EntityProcessingSystem;
-import net.mostlyoriginal.game.component.BathroomLevel;
-
-import static com.artemis.E.E;
 
 /**
+ * Processes entities as fluid {@link E}.
+ *
+ * Shadows the static {@code E()} entry points, which are bound to whichever world initialized
+ * last. Subclasses always get entities of their own world, so any number of worlds can run at once.
+ *
  * @author Daan van Yperen
  */
 public abstract class FluidSystem extends EntityProcessingSystem {
 
+    private SuperMapper superMapper;
+
     public FluidSystem() {
         super(Aspect.all());
     }
@@ -23,8 +28,21 @@ public abstract class FluidSystem extends EntityProcessingSystem {
 
     @Override
     protected void process(Entity e) {
-        process(E(e));
+        process(E(e.getId()));
     }
 
     protected abstract void process(E e);
+
+    /** Create entity in this system's world. */
+    protected E E() {
+        return E(world.create());
+    }
+
+    protected E E(int entityId) {
+        return superMapper.getE(entityId);
+    }
+
+    protected E E(Entity entity) {
+        return E(entity.getId());
+    }
 }
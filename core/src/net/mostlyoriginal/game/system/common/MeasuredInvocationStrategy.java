@@ -0,0 +1,65 @@
+package net.mostlyoriginal.game.system.common;
+
+import com.artemis.BaseSystem;
+import com.artemis.SystemInvocationStrategy;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import net.mostlyoriginal.game.metrics.Histogram;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+
+/**
+ * Processes all systems in order, timing each one.
+ *
+ * Records {@code system_process_nanos} per system and {@code world_process_nanos} per call to
+ * {@link com.artemis.World#process()}.
+ *
+ * @author Daan van Yperen
+ */
+public class MeasuredInvocationStrategy extends SystemInvocationStrategy {
+
+    protected final MetricsRegistry metrics;
+    private Histogram[] systemTimes;
+    private Histogram worldTime;
+
+    public MeasuredInvocationStrategy(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        BaseSystem[] systemsData = systems.getData();
+        systemTimes = new Histogram[systems.size()];
+        for (int i = 0, s = systems.size(); s > i; i++) {
+            systemTimes[i] = metrics.histogram("system_process_nanos", "system",
+                    ClassReflection.getSimpleName(systemsData[i].getClass()));
+        }
+        worldTime = metrics.histogram("world_process_nanos");
+    }
+
+    @Override
+    protected void process() {
+        long start = TimeUtils.nanoTime();
+        for (int i = 0, s = systems.size(); s > i; i++) {
+            if (disabled.get(i))
+                continue;
+
+            updateEntityStates();
+            processSystem(i);
+        }
+
+        updateEntityStates();
+        worldTime.record(TimeUtils.nanoTime() - start);
+    }
+
+    /** Process a single system, recording how long it took. */
+    protected final void processSystem(int index) {
+        long start = TimeUtils.nanoTime();
+        systems.get(index).process();
+        systemTimes[index].record(TimeUtils.nanoTime() - start);
+    }
+
+    protected final void recordWorldTime(long nanos) {
+        worldTime.record(nanos);
+    }
+}
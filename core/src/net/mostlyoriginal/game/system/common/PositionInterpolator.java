@@ -0,0 +1,131 @@
+package net.mostlyoriginal.game.system.common;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.EntitySubscription;
+import com.artemis.World;
+import com.artemis.utils.BitVector;
+import com.artemis.utils.IntBag;
+import net.mostlyoriginal.api.component.basic.Pos;
+import net.mostlyoriginal.api.component.graphics.Invisible;
+
+/**
+ * Smooths positions between fixed logic ticks for rendering.
+ *
+ * Remembers where each entity was at the start of a tick. Before rendering, entities are moved
+ * part way between that and where the tick left them, and put back afterwards so logic never
+ * sees the interpolated position.
+ *
+ * Entities created during a tick have nothing to interpolate from and render where they are.
+ * The same goes for {@link Invisible} entities once shown again, so pooled entities can be hidden
+ * and moved without being drawn sliding in from where they were.
+ *
+ * @author Daan van Yperen
+ */
+public class PositionInterpolator implements EntitySubscription.SubscriptionListener {
+
+    private final ComponentMapper<Pos> mPos;
+    private final EntitySubscription subscription;
+
+    /** Entities with a start of tick position. */
+    private final BitVector tracked = new BitVector();
+    /** Entities currently moved to their interpolated position. */
+    private final IntBag interpolated = new IntBag();
+
+    private float[] fromX = new float[128];
+    private float[] fromY = new float[128];
+    private float[] toX = new float[128];
+    private float[] toY = new float[128];
+
+    public PositionInterpolator(World world) {
+        mPos = world.getMapper(Pos.class);
+        subscription = world.getAspectSubscriptionManager().get(Aspect.all(Pos.class).exclude(Invisible.class));
+        subscription.addSubscriptionListener(this);
+    }
+
+    /** Remember positions at the start of a logic tick. */
+    public void beforeTick() {
+        IntBag entities = subscription.getEntities();
+        int[] ids = entities.getData();
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            int id = ids[i];
+            ensureCapacity(id);
+            Pos pos = mPos.get(id);
+            fromX[id] = pos.getX();
+            fromY[id] = pos.getY();
+            tracked.set(id);
+        }
+    }
+
+    /**
+     * Move entities between their start and end of tick position.
+     *
+     * @param alpha 0 for the start, 1 for the end of the last tick.
+     */
+    public void interpolate(float alpha) {
+        IntBag entities = subscription.getEntities();
+        int[] ids = entities.getData();
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            int id = ids[i];
+            if (!tracked.get(id)) continue;
+
+            Pos pos = mPos.get(id);
+            float x = pos.getX();
+            float y = pos.getY();
+            if (x == fromX[id] && y == fromY[id]) continue;
+
+            toX[id] = x;
+            toY[id] = y;
+            pos.setX(fromX[id] + (x - fromX[id]) * alpha);
+            pos.setY(fromY[id] + (y - fromY[id]) * alpha);
+            interpolated.add(id);
+        }
+    }
+
+    /** Put interpolated entities back at their end of tick position. */
+    public void restore() {
+        int[] ids = interpolated.getData();
+        for (int i = 0, s = interpolated.size(); i < s; i++) {
+            int id = ids[i];
+            if (mPos.has(id)) {
+                Pos pos = mPos.get(id);
+                pos.setX(toX[id]);
+                pos.setY(toY[id]);
+            }
+        }
+        interpolated.setSize(0);
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= fromX.length) {
+            int size = Math.max(fromX.length * 2, id + 1);
+            fromX = grow(fromX, size);
+            fromY = grow(fromY, size);
+            toX = grow(toX, size);
+            toY = grow(toY, size);
+        }
+    }
+
+    private static float[] grow(float[] data, int size) {
+        float[] grown = new float[size];
+        System.arraycopy(data, 0, grown, 0, data.length);
+        return grown;
+    }
+
+    @Override
+    public void inserted(IntBag entities) {
+        forget(entities);
+    }
+
+    @Override
+    public void removed(IntBag entities) {
+        forget(entities);
+    }
+
+    private void forget(IntBag entities) {
+        int[] ids = entities.getData();
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            tracked.clear(ids[i]);
+        }
+    }
+}
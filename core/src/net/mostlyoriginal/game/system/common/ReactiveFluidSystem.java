@@ -0,0 +1,90 @@
+package net.mostlyoriginal.game.system.common;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.Component;
+import com.artemis.E;
+import com.artemis.EntitySubscription;
+import com.artemis.SuperMapper;
+import com.artemis.utils.BitVector;
+import com.artemis.utils.IntBag;
+import net.mostlyoriginal.game.util.EntitySet;
+
+/**
+ * Processes entities as fluid {@link E}, but only after something about them changed.
+ *
+ * Entities are processed when they join the system, when one of the watched components is
+ * added or removed, and when {@link #invalidate} is called for changes within a component.
+ * Entities that stay the same cost nothing per tick.
+ *
+ * @author Daan van Yperen
+ */
+public abstract class ReactiveFluidSystem extends BaseEntitySystem {
+
+    private final Aspect.Builder aspect;
+    private final Class<? extends Component>[] watched;
+    private final EntitySet stale = new EntitySet();
+    private SuperMapper superMapper;
+    private BitVector active;
+
+    /** @param watched components that change how entities are processed. */
+    public ReactiveFluidSystem(Aspect.Builder aspect, Class<? extends Component>... watched) {
+        super(aspect);
+        this.aspect = aspect;
+        this.watched = watched;
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        active = getSubscription().getActiveEntityIds();
+        EntitySubscription.SubscriptionListener listener = new EntitySubscription.SubscriptionListener() {
+            @Override
+            public void inserted(IntBag entities) {
+                invalidate(entities);
+            }
+
+            @Override
+            public void removed(IntBag entities) {
+                invalidate(entities);
+            }
+        };
+        for (Class<? extends Component> type : watched) {
+            world.getAspectSubscriptionManager().get(aspect.copy().all(type)).addSubscriptionListener(listener);
+        }
+    }
+
+    /** Process entity on the next tick. */
+    public void invalidate(int entityId) {
+        stale.add(entityId);
+    }
+
+    private void invalidate(IntBag entities) {
+        int[] ids = entities.getData();
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            stale.add(ids[i]);
+        }
+    }
+
+    @Override
+    protected void inserted(int entityId) {
+        stale.add(entityId);
+    }
+
+    @Override
+    protected void processSystem() {
+        for (int i = 0, s = stale.size(); i < s; i++) {
+            int id = stale.get(i);
+            if (active.get(id)) {
+                process(E(id));
+            }
+        }
+        stale.clear();
+    }
+
+    protected abstract void process(E e);
+
+    protected E E(int entityId) {
+        return superMapper.getE(entityId);
+    }
+}
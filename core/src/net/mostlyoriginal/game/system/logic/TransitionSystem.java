@@ -30,10 +30,22 @@ public class TransitionSystem extends EntityProcessingSystem {
         this.parent = parent;
     }
 
+    /**
+     * Transition system for worlds without screens, like headless simulations.
+     * Requested transitions are ignored.
+     */
+    public TransitionSystem() {
+        this(null, null);
+    }
+
     /**
      * Transition to screen after delay in seconds.
      */
     public void transition(Class<? extends Screen> screen, float delay) {
+        if (parent == null) {
+            // scripts draw from operation pools shared by all worlds, keep simulations clear of them.
+            return;
+        }
         E()
                 .script(
                         sequence(
@@ -46,7 +58,9 @@ public class TransitionSystem extends EntityProcessingSystem {
     @Override
     protected void process(Entity e) {
         try {
-            parent.target = E(e).transitionScreen();
+            if (parent != null) {
+                parent.target = E(e).transitionScreen();
+            }
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -0,0 +1,58 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.ObjectSet;
+import net.mostlyoriginal.game.system.AudioService;
+
+/**
+ * Plays gameplay sound cues through the sounds loaded by {@link GameScreenAssetSystem}.
+ *
+ * Each cue plays at most once per rendered frame, however many gameplay ticks request it. Cues are
+ * told apart by their constant array of variants, so two variants of one cue never stack either.
+ *
+ * @author Daan van Yperen
+ */
+public class GameScreenAudioService extends AudioService {
+
+    public static final float SFX_VOLUME = 0.3f;
+
+    GameScreenAssetSystem assetSystem;
+
+    /** Cues played this frame, by their array of variants. */
+    private final ObjectSet<String[]> playedThisFrame = new ObjectSet<String[]>();
+    private long frameId = -1;
+
+    @Override
+    public void playSfx(String... names) {
+        if (firstThisFrame(names)) {
+            playSfx(names[MathUtils.random(0, names.length - 1)], SFX_VOLUME);
+        }
+    }
+
+    @Override
+    public void playSfx(float volume, String... names) {
+        if (firstThisFrame(names)) {
+            playSfx(names[MathUtils.random(0, names.length - 1)], SFX_VOLUME);
+        }
+    }
+
+    public void playSfx(String name, float volume) {
+        if (volume > 0) {
+            Sound sfx = assetSystem.getSfx(name);
+            if (sfx != null) {
+                sfx.stop();
+                sfx.play(volume, MathUtils.random(1f, 1.04f), 0);
+            }
+        }
+    }
+
+    private boolean firstThisFrame(String[] cue) {
+        if (frameId != Gdx.graphics.getFrameId()) {
+            frameId = Gdx.graphics.getFrameId();
+            playedThisFrame.clear();
+        }
+        return playedThisFrame.add(cue);
+    }
+}
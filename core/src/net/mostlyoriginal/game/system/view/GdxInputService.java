@@ -0,0 +1,52 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.utils.IntSet;
+import net.mostlyoriginal.game.system.InputService;
+
+/**
+ * Polls the keyboard through {@link Gdx#input}.
+ *
+ * Key presses are collected as events rather than polled per frame, so a press is never lost
+ * or repeated when a frame runs zero or several gameplay ticks.
+ *
+ * @author Daan van Yperen
+ */
+public class GdxInputService extends InputService {
+
+    private final IntSet pressed = new IntSet();
+
+    private final InputAdapter listener = new InputAdapter() {
+        @Override
+        public boolean keyDown(int keycode) {
+            pressed.add(keycode);
+            return false;
+        }
+    };
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        Gdx.input.setInputProcessor(listener);
+    }
+
+    @Override
+    protected void dispose() {
+        super.dispose();
+        if (Gdx.input.getInputProcessor() == listener) {
+            Gdx.input.setInputProcessor(null);
+        }
+    }
+
+    @Override
+    protected int poll() {
+        int state = 0;
+        for (int i = 0; i < KEYS.length; i++) {
+            if (Gdx.input.isKeyPressed(KEYS[i])) state |= 1 << i;
+            if (pressed.contains(KEYS[i])) state |= 1 << (i + JUST_PRESSED_SHIFT);
+        }
+        pressed.clear();
+        return state;
+    }
+}
@@ -0,0 +1,175 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.artemis.BaseSystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.Bag;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import net.mostlyoriginal.api.component.graphics.Render;
+import net.mostlyoriginal.api.system.delegate.EntityProcessAgent;
+import net.mostlyoriginal.api.system.delegate.EntityProcessPrincipal;
+
+import java.util.Arrays;
+
+/**
+ * Renders entities in order of {@link Render#layer}, without ever sorting them.
+ *
+ * Each layer has a bucket of entities per render agent, and buckets are kept in layer order.
+ * Registering, unregistering and {@link #layerChanged(int) moving} an entity between layers only
+ * touch its own bucket, so ordering costs grow with changes rather than with all entities.
+ *
+ * Within a layer, entities are drawn agent by agent, by ascending entity id. Overlapping entities
+ * keep their draw order when others come and go, and return to it when moved back to a layer.
+ *
+ * @author Daan van Yperen
+ */
+public class LayeredRenderBatchingSystem extends BaseSystem implements EntityProcessPrincipal {
+
+    protected ComponentMapper<Render> mRender;
+
+    /** Set to check every entity for layer changes on the next frame. Prefer {@link #layerChanged(int)}. */
+    public boolean sortedDirty = false;
+
+    private final Bag<EntityProcessAgent> agents = new Bag<EntityProcessAgent>();
+    private final IntMap<Bucket> bucketsByLayer = new IntMap<Bucket>();
+    /** Buckets in layer order. */
+    private final Array<Bucket> buckets = new Array<Bucket>();
+    /** Bucket of each registered entity. */
+    private final Bag<Bucket> bucketOf = new Bag<Bucket>();
+
+    private static class Bucket {
+        final int layer;
+        /** Entities by agent index, sorted by id. */
+        final Bag<IntArray> entities = new Bag<IntArray>();
+
+        Bucket(int layer) {
+            this.layer = layer;
+        }
+
+        IntArray entities(int agent) {
+            IntArray ids = entities.safeGet(agent);
+            if (ids == null) {
+                ids = new IntArray();
+                entities.set(agent, ids);
+            }
+            return ids;
+        }
+
+        boolean contains(int entityId) {
+            for (int a = 0, s = entities.size(); a < s; a++) {
+                IntArray ids = entities.get(a);
+                if (ids != null && indexOf(ids, entityId) >= 0) return true;
+            }
+            return false;
+        }
+    }
+
+    /** @return index of entity in sorted ids, or {@code -(insertion point + 1)} if absent. */
+    private static int indexOf(IntArray ids, int entityId) {
+        return Arrays.binarySearch(ids.items, 0, ids.size, entityId);
+    }
+
+    private static void add(IntArray ids, int entityId) {
+        int index = indexOf(ids, entityId);
+        if (index < 0) ids.insert(-index - 1, entityId);
+    }
+
+    /** Remove entity, shifting the rest so their order is kept. @return {@code true} if it was there. */
+    private static boolean remove(IntArray ids, int entityId) {
+        int index = indexOf(ids, entityId);
+        if (index < 0) return false;
+        ids.removeIndex(index);
+        return true;
+    }
+
+    @Override
+    public void registerAgent(int entityId, EntityProcessAgent agent) {
+        Bucket bucket = bucketOf.safeGet(entityId);
+        if (bucket == null) {
+            bucket = bucket(mRender.get(entityId).layer);
+            bucketOf.set(entityId, bucket);
+        }
+        add(bucket.entities(indexOf(agent)), entityId);
+    }
+
+    @Override
+    public void unregisterAgent(int entityId, EntityProcessAgent agent) {
+        Bucket bucket = bucketOf.safeGet(entityId);
+        if (bucket == null) return;
+        remove(bucket.entities(indexOf(agent)), entityId);
+        if (!bucket.contains(entityId)) {
+            bucketOf.set(entityId, null);
+        }
+    }
+
+    /** Move entity to the bucket of its current {@link Render#layer}. Call after changing it. */
+    public void layerChanged(int entityId) {
+        Bucket from = bucketOf.safeGet(entityId);
+        if (from == null) return;
+        int layer = mRender.get(entityId).layer;
+        if (from.layer == layer) return;
+
+        Bucket to = bucket(layer);
+        for (int a = 0, s = from.entities.size(); a < s; a++) {
+            IntArray ids = from.entities.get(a);
+            if (ids != null && remove(ids, entityId)) {
+                add(to.entities(a), entityId);
+            }
+        }
+        bucketOf.set(entityId, to);
+    }
+
+    /** @return bucket of layer, created in layer order if it does not exist yet. */
+    private Bucket bucket(int layer) {
+        Bucket bucket = bucketsByLayer.get(layer);
+        if (bucket == null) {
+            bucket = new Bucket(layer);
+            bucketsByLayer.put(layer, bucket);
+            int index = buckets.size;
+            while (index > 0 && buckets.get(index - 1).layer > layer) {
+                index--;
+            }
+            buckets.insert(index, bucket);
+        }
+        return bucket;
+    }
+
+    private int indexOf(EntityProcessAgent agent) {
+        for (int i = 0, s = agents.size(); i < s; i++) {
+            if (agents.get(i) == agent) return i;
+        }
+        agents.add(agent);
+        return agents.size() - 1;
+    }
+
+    @Override
+    protected void processSystem() {
+        if (sortedDirty) {
+            sortedDirty = false;
+            for (int e = 0, s = bucketOf.size(); e < s; e++) {
+                if (bucketOf.get(e) != null) layerChanged(e);
+            }
+        }
+
+        EntityProcessAgent activeAgent = null;
+        for (int b = 0; b < buckets.size; b++) {
+            final Bag<IntArray> entities = buckets.get(b).entities;
+            for (int a = 0, s = entities.size(); a < s; a++) {
+                final IntArray ids = entities.get(a);
+                if (ids == null || ids.size == 0) continue;
+
+                final EntityProcessAgent agent = agents.get(a);
+                if (agent != activeAgent) {
+                    if (activeAgent != null) activeAgent.end();
+                    activeAgent = agent;
+                    activeAgent.begin();
+                }
+                for (int i = 0; i < ids.size; i++) {
+                    agent.process(ids.items[i]);
+                }
+            }
+        }
+        if (activeAgent != null) activeAgent.end();
+    }
+}
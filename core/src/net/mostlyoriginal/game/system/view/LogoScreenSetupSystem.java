@@ -10,7 +10,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Interpolation;
 import net.mostlyoriginal.api.component.graphics.Tint;
 import net.mostlyoriginal.api.operation.OperationFactory;
-import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.GameSession;
 import net.mostlyoriginal.game.screen.GameScreen;
 import net.mostlyoriginal.game.system.logic.TransitionSystem;
 import net.mostlyoriginal.game.util.Anims;
@@ -28,10 +28,10 @@ import static net.mostlyoriginal.game.system.view.FeatureScreenSetupSystem.COLOR
 public class LogoScreenSetupSystem extends BaseSystem {
 
     public static final int FEATURE_BORDER_MARGIN = 1;
-    public static final int NO_SCORE = -1;
 
     LogoScreenSetupSystem assetSystem;
     TagManager tagManager;
+    GameSession session;
 
     private int iconIndex;
     private E message;
@@ -79,14 +79,14 @@ public class LogoScreenSetupSystem extends BaseSystem {
     protected void initialize() {
         super.initialize();
 
-        boolean hasScore = GameRules.lastScore != NO_SCORE;
+        boolean hasScore = session.lastScore != GameSession.NO_SCORE;
         addLogo(hasScore ? 0.6f : 0.8f);
-        if ( hasScore ) addScore(GameRules.lastScore);
+        if ( hasScore ) addScore(session.lastScore);
         addPressbutton(hasScore ? "Press any key to try again" : "Press any key to start",
                 hasScore ? 280 : 220);
         //scheduleTransitionToGameScreen();
-        GameRules.lastScore = NO_SCORE;
-        GameRules.level = 1;
+        session.lastScore = GameSession.NO_SCORE;
+        session.level = 1;
     }
 
     private void addScore(int lastScore) {
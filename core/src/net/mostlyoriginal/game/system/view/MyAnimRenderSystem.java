@@ -0,0 +1,138 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.artemis.Aspect;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import net.mostlyoriginal.api.component.basic.Angle;
+import net.mostlyoriginal.api.component.basic.Pos;
+import net.mostlyoriginal.api.component.basic.Scale;
+import net.mostlyoriginal.api.component.graphics.Anim;
+import net.mostlyoriginal.api.component.graphics.Invisible;
+import net.mostlyoriginal.api.component.graphics.Render;
+import net.mostlyoriginal.api.component.graphics.Tint;
+import net.mostlyoriginal.api.plugin.extendedcomponentmapper.M;
+import net.mostlyoriginal.api.system.camera.CameraSystem;
+import net.mostlyoriginal.api.system.delegate.DeferredEntityProcessingSystem;
+import net.mostlyoriginal.api.system.delegate.EntityProcessPrincipal;
+import net.mostlyoriginal.game.component.Scenery;
+import net.mostlyoriginal.game.system.AnimHandleService;
+
+/**
+ * Renders anims, resolving them by {@link AnimHandleService} handle.
+ *
+ * Each entity remembers the id it last resolved, so the handle is only looked up again
+ * when {@link Anim#id} changes. Drawing an unchanged anim costs no hashing.
+ *
+ * {@link Scenery} is left to {@link SceneryRenderSystem}.
+ *
+ * @author Daan van Yperen
+ */
+public class MyAnimRenderSystem extends DeferredEntityProcessingSystem {
+
+    protected M<Pos> mPos;
+    protected M<Anim> mAnim;
+    protected M<Tint> mTint;
+    protected M<Angle> mAngle;
+    protected M<Scale> mScale;
+
+    protected CameraSystem cameraSystem;
+    protected GameScreenAssetSystem assetSystem;
+    protected AnimHandleService animHandles;
+
+    protected SpriteBatch batch;
+
+    private String[] resolvedIds = new String[128];
+    private int[] handles = new int[128];
+
+    public MyAnimRenderSystem(EntityProcessPrincipal principal) {
+        super(Aspect.all(Pos.class, Anim.class, Render.class).exclude(Invisible.class, Scenery.class), principal);
+        batch = new SpriteBatch(2000);
+    }
+
+    @Override
+    protected void inserted(int e) {
+        super.inserted(e);
+        if (e >= handles.length) {
+            int size = Math.max(handles.length * 2, e + 1);
+            String[] grownIds = new String[size];
+            int[] grownHandles = new int[size];
+            System.arraycopy(resolvedIds, 0, grownIds, 0, resolvedIds.length);
+            System.arraycopy(handles, 0, grownHandles, 0, handles.length);
+            resolvedIds = grownIds;
+            handles = grownHandles;
+        }
+        resolvedIds[e] = null;
+        handles[e] = AnimHandleService.NO_ANIM;
+    }
+
+    @Override
+    protected void begin() {
+        batch.setProjectionMatrix(cameraSystem.camera.combined);
+        batch.begin();
+    }
+
+    @Override
+    protected void end() {
+        batch.end();
+    }
+
+    @Override
+    protected boolean checkProcessing() {
+        return true;
+    }
+
+    protected void process(final int e) {
+        final Anim anim = mAnim.get(e);
+
+        final Animation animation = assetSystem.get(handle(e, anim.id));
+        if (animation != null && anim.age >= 0) {
+            batch.setColor(mTint.getSafe(e, Tint.WHITE).color);
+            draw(e, anim, animation.getKeyFrame(anim.age, anim.loop));
+        }
+
+        anim.age += world.delta * anim.speed;
+    }
+
+    /** @return handle of the entity's anim id, only looked up when the id changed. */
+    private int handle(int e, String id) {
+        if (resolvedIds[e] != id) {
+            resolvedIds[e] = id;
+            handles[e] = animHandles.handle(id);
+        }
+        return handles[e];
+    }
+
+    private void draw(int e, Anim anim, TextureRegion frame) {
+        final Pos pos = mPos.get(e);
+        final float scale = mScale.has(e) ? mScale.get(e).scale : 1f;
+        final float rotation = mAngle.has(e) ? mAngle.get(e).rotation : 0f;
+        final float width = frame.getRegionWidth() * scale;
+        final float height = frame.getRegionHeight() * scale;
+        float x = roundToPixels(pos.xy.x);
+        float y = roundToPixels(pos.xy.y);
+        float originX = width * 0.5f;
+        float originY = height * 0.5f;
+
+        if (frame instanceof TextureAtlas.AtlasRegion) {
+            // trimmed, put it back where it was in the untrimmed frame.
+            final TextureAtlas.AtlasRegion region = (TextureAtlas.AtlasRegion) frame;
+            x += region.offsetX * scale;
+            y += region.offsetY * scale;
+            originX = (region.originalWidth * 0.5f - region.offsetX) * scale;
+            originY = (region.originalHeight * 0.5f - region.offsetY) * scale;
+        }
+
+        if (anim.flippedX || rotation != 0) {
+            // mirror and rotate around the center.
+            batch.draw(frame, x, y, originX, originY, width, height, anim.flippedX ? -1 : 1, 1, rotation);
+        } else {
+            batch.draw(frame, x, y, width, height);
+        }
+    }
+
+    private float roundToPixels(float value) {
+        return Math.round(value * cameraSystem.zoom) / cameraSystem.zoom;
+    }
+}
@@ -0,0 +1,52 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.artemis.Aspect;
+import com.artemis.BaseSystem;
+import com.artemis.EntitySubscription;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
+import net.mostlyoriginal.game.metrics.ScalingReport;
+
+/**
+ * Records full frame times, rendering included, against the live entity count.
+ *
+ * Logs the {@link ScalingReport} every {@link #LOG_INTERVAL} seconds. Frame time is measured
+ * between frames, so with vsync enabled it never drops below the refresh interval.
+ *
+ * @author Daan van Yperen
+ */
+public class ScalingReportSystem extends BaseSystem {
+
+    public static final float LOG_INTERVAL = 30f;
+    public static final int ENTITIES_PER_ROW = 100;
+
+    private final ScalingReport report;
+    private EntitySubscription entities;
+    private long lastFrame = 0;
+    private float logCooldown = LOG_INTERVAL;
+
+    public ScalingReportSystem(String title) {
+        report = new ScalingReport(title, ENTITIES_PER_ROW);
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        entities = world.getAspectSubscriptionManager().get(Aspect.all());
+    }
+
+    @Override
+    protected void processSystem() {
+        long now = TimeUtils.nanoTime();
+        if (lastFrame != 0) {
+            report.record(entities.getEntities().size(), now - lastFrame);
+        }
+        lastFrame = now;
+
+        logCooldown -= Gdx.graphics.getDeltaTime();
+        if (logCooldown <= 0) {
+            logCooldown = LOG_INTERVAL;
+            Gdx.app.log("ScalingReport", "\n" + report.format());
+        }
+    }
+}
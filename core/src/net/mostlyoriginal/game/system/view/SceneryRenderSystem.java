@@ -0,0 +1,251 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.IntArray;
+import net.mostlyoriginal.api.component.basic.Pos;
+import net.mostlyoriginal.api.component.graphics.Anim;
+import net.mostlyoriginal.api.component.graphics.Invisible;
+import net.mostlyoriginal.api.component.graphics.Render;
+import net.mostlyoriginal.api.plugin.extendedcomponentmapper.M;
+import net.mostlyoriginal.api.system.camera.CameraSystem;
+import net.mostlyoriginal.game.component.Scenery;
+import net.mostlyoriginal.game.system.AnimHandleService;
+
+import java.nio.IntBuffer;
+
+/**
+ * Bakes {@link Scenery} into frame buffers, and draws them as a few quads beneath everything else.
+ *
+ * Scenery is baked again only when scenery is added or removed, or on {@link #invalidate()}.
+ * Draw calls and sorting per frame then only scale with dynamic entities.
+ *
+ * Wide levels are baked into tiles of at most {@link #MAX_TILE_SIZE} pixels, or less when the GPU
+ * can't hold textures that large.
+ *
+ * @author Daan van Yperen
+ */
+public class SceneryRenderSystem extends BaseEntitySystem {
+
+    public static final int MAX_TILE_SIZE = 2048;
+
+    protected M<Pos> mPos;
+    protected M<Anim> mAnim;
+    protected M<Render> mRender;
+
+    protected CameraSystem cameraSystem;
+    protected GameScreenAssetSystem assetSystem;
+    protected AnimHandleService animHandles;
+
+    private SpriteBatch batch;
+    /** Tiles by row, then column, from the bottom left. */
+    private final Array<FrameBuffer> tiles = new Array<FrameBuffer>();
+    private final Matrix4 bakeProjection = new Matrix4();
+    private final IntArray sorted = new IntArray();
+    private boolean dirty = true;
+    private int tileSize;
+
+    private int minX;
+    private int minY;
+    private int width;
+    private int height;
+    /** Size the tiles were created for. */
+    private int tiledWidth;
+    private int tiledHeight;
+
+    public SceneryRenderSystem() {
+        super(Aspect.all(Scenery.class, Pos.class, Anim.class, Render.class).exclude(Invisible.class));
+    }
+
+    @Override
+    protected void initialize() {
+        super.initialize();
+        batch = new SpriteBatch(1000);
+
+        IntBuffer maxTextureSize = BufferUtils.newIntBuffer(16);
+        Gdx.gl.glGetIntegerv(GL20.GL_MAX_TEXTURE_SIZE, maxTextureSize);
+        tileSize = Math.min(MAX_TILE_SIZE, maxTextureSize.get(0));
+    }
+
+    /** Bake scenery again before the next frame, call after changing scenery. */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    @Override
+    protected void inserted(int entityId) {
+        dirty = true;
+    }
+
+    @Override
+    protected void removed(int entityId) {
+        dirty = true;
+    }
+
+    @Override
+    protected boolean checkProcessing() {
+        return true;
+    }
+
+    @Override
+    protected void processSystem() {
+        if (dirty) {
+            dirty = false;
+            bake();
+        }
+
+        if (tiles.size > 0) {
+            batch.setProjectionMatrix(cameraSystem.camera.combined);
+            batch.begin();
+            for (int i = 0, columns = columns(); i < tiles.size; i++) {
+                final FrameBuffer tile = tiles.get(i);
+                final int w = tile.getWidth();
+                final int h = tile.getHeight();
+                batch.draw(tile.getColorBufferTexture(), minX + (i % columns) * tileSize, minY + (i / columns) * tileSize,
+                        w, h, 0, 0, w, h, false, true);
+            }
+            batch.end();
+        }
+    }
+
+    private void bake() {
+        sortByLayer(subscription.getEntities());
+        if (!measure()) {
+            disposeTiles();
+            return;
+        }
+
+        if (tiledWidth != width || tiledHeight != height) {
+            createTiles();
+        }
+
+        for (int i = 0, columns = columns(); i < tiles.size; i++) {
+            bake(tiles.get(i), minX + (i % columns) * tileSize, minY + (i / columns) * tileSize);
+        }
+    }
+
+    private void createTiles() {
+        disposeTiles();
+        for (int y = 0; y < height; y += tileSize) {
+            for (int x = 0; x < width; x += tileSize) {
+                FrameBuffer tile = new FrameBuffer(Pixmap.Format.RGBA8888,
+                        Math.min(tileSize, width - x), Math.min(tileSize, height - y), false);
+                tile.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+                tiles.add(tile);
+            }
+        }
+        tiledWidth = width;
+        tiledHeight = height;
+    }
+
+    private int columns() {
+        return (tiledWidth + tileSize - 1) / tileSize;
+    }
+
+    /** Draw the scenery overlapping a tile into it. */
+    private void bake(FrameBuffer tile, int x, int y) {
+        final int w = tile.getWidth();
+        final int h = tile.getHeight();
+        tile.begin();
+        Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.setProjectionMatrix(bakeProjection.setToOrtho2D(x, y, w, h));
+        batch.begin();
+        for (int i = 0; i < sorted.size; i++) {
+            final int e = sorted.get(i);
+            final TextureRegion frame = frame(e);
+            if (frame != null) {
+                final Pos pos = mPos.get(e);
+                final float frameX = pos.xy.x + offsetX(frame);
+                final float frameY = pos.xy.y + offsetY(frame);
+                if (frameX < x + w && frameX + frame.getRegionWidth() > x
+                        && frameY < y + h && frameY + frame.getRegionHeight() > y) {
+                    batch.draw(frame, frameX, frameY);
+                }
+            }
+        }
+        batch.end();
+        tile.end();
+    }
+
+    /** Fit baked area around all scenery. @return {@code false} if there is nothing to bake. */
+    private boolean measure() {
+        float x1 = Float.MAX_VALUE, y1 = Float.MAX_VALUE, x2 = -Float.MAX_VALUE, y2 = -Float.MAX_VALUE;
+        for (int i = 0; i < sorted.size; i++) {
+            final int e = sorted.get(i);
+            final TextureRegion frame = frame(e);
+            if (frame != null) {
+                final Pos pos = mPos.get(e);
+                x1 = Math.min(x1, pos.xy.x + offsetX(frame));
+                y1 = Math.min(y1, pos.xy.y + offsetY(frame));
+                x2 = Math.max(x2, pos.xy.x + offsetX(frame) + frame.getRegionWidth());
+                y2 = Math.max(y2, pos.xy.y + offsetY(frame) + frame.getRegionHeight());
+            }
+        }
+        if (x1 > x2) return false;
+        minX = (int) Math.floor(x1);
+        minY = (int) Math.floor(y1);
+        width = (int) Math.ceil(x2) - minX;
+        height = (int) Math.ceil(y2) - minY;
+        return width > 0 && height > 0;
+    }
+
+    private TextureRegion frame(int e) {
+        final Anim anim = mAnim.get(e);
+        final Animation animation = assetSystem.get(animHandles.handle(anim.id));
+        return animation != null ? animation.getKeyFrame(anim.age, anim.loop) : null;
+    }
+
+    /** @return offset of trimmed frame within its untrimmed frame. */
+    private static float offsetX(TextureRegion frame) {
+        return frame instanceof TextureAtlas.AtlasRegion ? ((TextureAtlas.AtlasRegion) frame).offsetX : 0;
+    }
+
+    private static float offsetY(TextureRegion frame) {
+        return frame instanceof TextureAtlas.AtlasRegion ? ((TextureAtlas.AtlasRegion) frame).offsetY : 0;
+    }
+
+    /** Insertion sort, there is little scenery and it is baked rarely. */
+    private void sortByLayer(IntBag entities) {
+        sorted.clear();
+        final int[] ids = entities.getData();
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            final int e = ids[i];
+            final int layer = mRender.get(e).layer;
+            int index = sorted.size;
+            while (index > 0 && mRender.get(sorted.get(index - 1)).layer > layer) {
+                index--;
+            }
+            sorted.insert(index, e);
+        }
+    }
+
+    private void disposeTiles() {
+        for (int i = 0; i < tiles.size; i++) {
+            tiles.get(i).dispose();
+        }
+        tiles.clear();
+        tiledWidth = 0;
+        tiledHeight = 0;
+    }
+
+    @Override
+    protected void dispose() {
+        super.dispose();
+        disposeTiles();
+        batch.dispose();
+    }
+}
@@ -0,0 +1,39 @@
+package net.mostlyoriginal.game.system.view;
+
+import com.artemis.BaseSystem;
+import com.artemis.annotations.Wire;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.system.common.FixedStepInvocationStrategy;
+
+/**
+ * Cycles game speed with F9, for tuning and soak testing.
+ *
+ * The speed sticks between levels through {@link GameSession#timeWarp}.
+ *
+ * @author Daan van Yperen
+ */
+public class TimeWarpSystem extends BaseSystem {
+
+    public static final float[] SPEEDS = {1f, 10f, 100f};
+
+    @Wire
+    private GameSession session;
+
+    @Override
+    protected void processSystem() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F9)) {
+            session.timeWarp = nextSpeed(session.timeWarp);
+        }
+        FixedStepInvocationStrategy strategy = world.getInvocationStrategy();
+        strategy.setSpeed(session.timeWarp);
+    }
+
+    private float nextSpeed(float speed) {
+        for (int i = 0; i < SPEEDS.length - 1; i++) {
+            if (speed < SPEEDS[i + 1]) return SPEEDS[i + 1];
+        }
+        return SPEEDS[0];
+    }
+}
@@ -0,0 +1,69 @@
+package net.mostlyoriginal.game.util;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Anims packed into a sprite atlas, as written by the atlas packer.
+ *
+ * One anim per line: id, frame duration, frame count, then per frame its region in the atlas
+ * and how it was trimmed: {@code x y width height offsetX offsetY originalWidth originalHeight}.
+ * Offsets are from the bottom left of the untrimmed frame, like {@code TextureAtlas.AtlasRegion}.
+ *
+ * @author Daan van Yperen
+ */
+public class AnimManifest {
+
+    /** Ints per frame. */
+    public static final int FRAME_STRIDE = 8;
+
+    public static class Anim {
+        public final String id;
+        public final float frameDuration;
+        /** {@link #FRAME_STRIDE} ints per frame. */
+        public final int[] frames;
+
+        public Anim(String id, float frameDuration, int[] frames) {
+            this.id = id;
+            this.frameDuration = frameDuration;
+            this.frames = frames;
+        }
+
+        public int frameCount() {
+            return frames.length / FRAME_STRIDE;
+        }
+    }
+
+    public final Array<Anim> anims = new Array<Anim>();
+
+    public static AnimManifest parse(String text) {
+        AnimManifest manifest = new AnimManifest();
+        for (String line : text.split("\n")) {
+            line = line.trim();
+            if (line.length() == 0) continue;
+            String[] tokens = line.split("\\s+");
+            int count = Integer.parseInt(tokens[2]);
+            if (tokens.length != 3 + count * FRAME_STRIDE) {
+                throw new IllegalArgumentException("Expected " + count + " frames for anim " + tokens[0]);
+            }
+            int[] frames = new int[count * FRAME_STRIDE];
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = Integer.parseInt(tokens[3 + i]);
+            }
+            manifest.anims.add(new Anim(tokens[0], Float.parseFloat(tokens[1]), frames));
+        }
+        return manifest;
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < anims.size; i++) {
+            Anim anim = anims.get(i);
+            out.append(anim.id).append(' ').append(anim.frameDuration).append(' ').append(anim.frameCount());
+            for (int frame : anim.frames) {
+                out.append(' ').append(frame);
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+}
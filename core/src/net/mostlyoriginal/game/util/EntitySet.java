@@ -0,0 +1,78 @@
+package net.mostlyoriginal.game.util;
+
+/**
+ * Set of entity ids with constant time add, remove, lookup and random pick.
+ *
+ * Ids are kept packed in an array, removal moves the last id into the gap. Order is not stable.
+ *
+ * @author Daan van Yperen
+ */
+public class EntitySet {
+
+    public static final int MISSING_ENTITY_ID = -1;
+
+    private int[] ids = new int[16];
+    /** Position of each entity id in {@link #ids}, plus one. 0 when absent. */
+    private int[] positions = new int[64];
+    private int size = 0;
+
+    /** @return {@code true} if the id was not yet in the set. */
+    public boolean add(int id) {
+        if (contains(id)) return false;
+        if (size == ids.length) {
+            ids = grow(ids, size * 2);
+        }
+        if (id >= positions.length) {
+            positions = grow(positions, Math.max(positions.length * 2, id + 1));
+        }
+        ids[size++] = id;
+        positions[id] = size;
+        return true;
+    }
+
+    /** @return {@code true} if the id was in the set. */
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        int index = positions[id] - 1;
+        int last = ids[--size];
+        ids[index] = last;
+        positions[last] = index + 1;
+        positions[id] = 0;
+        return true;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** @return id at index, between 0 and {@link #size()} exclusive. */
+    public int get(int index) {
+        return ids[index];
+    }
+
+    /** @return random id from the set, or {@link #MISSING_ENTITY_ID} when empty. */
+    public int random(RandomStream random) {
+        return size > 0 ? ids[random.random(size - 1)] : MISSING_ENTITY_ID;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[ids[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private static int[] grow(int[] data, int length) {
+        int[] result = new int[length];
+        System.arraycopy(data, 0, result, 0, data.length);
+        return result;
+    }
+}
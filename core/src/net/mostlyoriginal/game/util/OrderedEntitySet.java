@@ -0,0 +1,141 @@
+package net.mostlyoriginal.game.util;
+
+/**
+ * Entity set that also finds the member nearest to an x position.
+ *
+ * Members are placed on a fixed layout of entities sorted by x, see {@link #order}. A count tree
+ * over the layout finds the closest member on either side in O(log n). Members outside the
+ * layout are kept, but never returned by {@link #nearest}.
+ *
+ * @author Daan van Yperen
+ */
+public class OrderedEntitySet extends EntitySet {
+
+    /** Slot of each entity id in the layout, plus one. 0 when not laid out. */
+    private int[] slots = new int[0];
+    /** Entity id and x per slot, ascending by x. */
+    private int[] layout = new int[0];
+    private float[] xs = new float[0];
+    private int size = 0;
+
+    /** Members per subtree. Root at 1, slot i at leaves + i. */
+    private int[] counts;
+    private int leaves;
+
+    /**
+     * Lay out entities by position, replacing any earlier layout.
+     *
+     * @param ids entity ids, sorted by ascending x.
+     * @param x   position of each entity.
+     */
+    public void order(int[] ids, float[] x, int size) {
+        this.size = size;
+        layout = new int[size];
+        xs = new float[size];
+        System.arraycopy(ids, 0, layout, 0, size);
+        System.arraycopy(x, 0, xs, 0, size);
+
+        int maxId = 0;
+        for (int i = 0; i < size; i++) {
+            maxId = Math.max(maxId, ids[i]);
+        }
+        slots = new int[maxId + 1];
+        for (int i = 0; i < size; i++) {
+            slots[ids[i]] = i + 1;
+        }
+
+        leaves = 1;
+        while (leaves < size) leaves <<= 1;
+        counts = new int[leaves * 2];
+        for (int i = 0, s = size(); i < s; i++) {
+            mark(get(i), 1);
+        }
+    }
+
+    @Override
+    public boolean add(int id) {
+        if (!super.add(id)) return false;
+        mark(id, 1);
+        return true;
+    }
+
+    @Override
+    public boolean remove(int id) {
+        if (!super.remove(id)) return false;
+        mark(id, -1);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (counts != null) {
+            for (int i = 0; i < counts.length; i++) counts[i] = 0;
+        }
+    }
+
+    /** @return laid out member closest to x, or {@link #MISSING_ENTITY_ID} when there is none. */
+    public int nearest(float x) {
+        if (counts == null || counts[1] == 0) return MISSING_ENTITY_ID;
+
+        int slot = search(x);
+        int right = slot < size ? firstFrom(slot) : -1;
+        int left = slot > 0 ? lastUpTo(slot - 1) : -1;
+        if (left == -1) return layout[right];
+        if (right == -1) return layout[left];
+        return x - xs[left] <= xs[right] - x ? layout[left] : layout[right];
+    }
+
+    private void mark(int id, int delta) {
+        if (counts == null || id >= slots.length || slots[id] == 0) return;
+        for (int node = leaves + slots[id] - 1; node >= 1; node >>= 1) {
+            counts[node] += delta;
+        }
+    }
+
+    /** @return first slot at or right of x. */
+    private int search(float x) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (xs[middle] < x) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /** @return first occupied slot at or after slot, or -1. */
+    private int firstFrom(int slot) {
+        int node = leaves + slot;
+        if (counts[node] > 0) return slot;
+        while (node > 1) {
+            if ((node & 1) == 0 && counts[node + 1] > 0) {
+                node = node + 1;
+                while (node < leaves) {
+                    node = counts[node * 2] > 0 ? node * 2 : node * 2 + 1;
+                }
+                return node - leaves;
+            }
+            node >>= 1;
+        }
+        return -1;
+    }
+
+    /** @return last occupied slot at or before slot, or -1. */
+    private int lastUpTo(int slot) {
+        int node = leaves + slot;
+        if (counts[node] > 0) return slot;
+        while (node > 1) {
+            if ((node & 1) == 1 && counts[node - 1] > 0) {
+                node = node - 1;
+                while (node < leaves) {
+                    node = counts[node * 2 + 1] > 0 ? node * 2 + 1 : node * 2;
+                }
+                return node - leaves;
+            }
+            node >>= 1;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,67 @@
+package net.mostlyoriginal.game.util;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Seeded random number stream, with the same helpers as {@link com.badlogic.gdx.math.MathUtils}.
+ *
+ * Streams can be split by name into independent child streams. Splitting does not draw from the
+ * parent, so adding a stream never shifts the numbers of another one.
+ *
+ * Not thread safe, give each world its own streams.
+ *
+ * @author Daan van Yperen
+ */
+public class RandomStream {
+
+    private final long seed;
+    private final RandomXS128 random;
+
+    public RandomStream(long seed) {
+        this.seed = seed;
+        this.random = new RandomXS128(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /** @return independent stream derived from this stream's seed and the given name. */
+    public RandomStream split(String name) {
+        return new RandomStream(mix(seed, name));
+    }
+
+    /** FNV-1a over the seed and name, so it hashes identically on desktop and gwt. */
+    private static long mix(long seed, String name) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0, s = name.length(); i < s; i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /** @return random number between 0 and range, inclusive. */
+    public int random(int range) {
+        return random.nextInt(range + 1);
+    }
+
+    /** @return random number between start and end, inclusive. */
+    public int random(int start, int end) {
+        return start + random.nextInt(end - start + 1);
+    }
+
+    /** @return random number between 0 (inclusive) and 1 (exclusive). */
+    public float random() {
+        return random.nextFloat();
+    }
+
+    /** @return random number between start (inclusive) and end (exclusive). */
+    public float random(float start, float end) {
+        return start + random.nextFloat() * (end - start);
+    }
+
+    public boolean randomBoolean() {
+        return random.nextBoolean();
+    }
+}
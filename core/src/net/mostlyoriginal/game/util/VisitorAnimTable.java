@@ -0,0 +1,53 @@
+package net.mostlyoriginal.game.util;
+
+import net.mostlyoriginal.game.component.Emotion;
+
+/**
+ * Visitor anim ids by action, emotion and skin, built once so picking one is an array lookup.
+ *
+ * @author Daan van Yperen
+ */
+public class VisitorAnimTable {
+
+    /** Visitor looks, anim ids end in 1 to 7. */
+    public static final int SKIN_COUNT = 7;
+    private static final int EMOTION_COUNT = Emotion.State.values().length;
+
+    public enum Action {
+        WALK("visitor_"),
+        PEE("visitor_pee_"),
+        POOP("visitor_poop_"),
+        WASH("visitor_wash_");
+
+        final String prefix;
+
+        Action(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    private final String[] ids = new String[Action.values().length * EMOTION_COUNT * SKIN_COUNT];
+
+    public VisitorAnimTable() {
+        for (Action action : Action.values()) {
+            for (Emotion.State emotion : Emotion.State.values()) {
+                for (int skin = 1; skin <= SKIN_COUNT; skin++) {
+                    ids[slot(action, emotion, skin)] = action.prefix + emotion.name().toLowerCase() + skin;
+                }
+            }
+        }
+    }
+
+    /** @return index of anim in the table, skin between 1 and {@link #SKIN_COUNT}. */
+    public static int slot(Action action, Emotion.State emotion, int skin) {
+        return (action.ordinal() * EMOTION_COUNT + emotion.ordinal()) * SKIN_COUNT + skin - 1;
+    }
+
+    public String id(int slot) {
+        return ids[slot];
+    }
+
+    public int size() {
+        return ids.length;
+    }
+}
@@ -0,0 +1,51 @@
+package net.mostlyoriginal.game;
+
+import net.mostlyoriginal.game.simulation.Simulation;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Guards against garbage creeping back into the gameplay loop.
+ *
+ * @author Daan van Yperen
+ */
+public class AllocationTest {
+
+    private static final float TICK = 1f / 60f;
+    private static final int WARMUP_TICKS = 60 * 30;
+    private static final int MEASURED_TICKS = 60 * 120;
+
+    /** Average bytes per tick, leaving room for the occasional visitor spawn. */
+    private static final long BUDGET_BYTES_PER_TICK = 256;
+
+    @Test
+    public void When_playing_level_Should_stay_within_allocation_budget()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Needs per-thread allocation counters", bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue("Needs per-thread allocation counters", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Simulation simulation = new Simulation(new GameSession(2), 42);
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            simulation.tick(TICK);
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        int ticks = 0;
+        while (ticks < MEASURED_TICKS && !simulation.isFinished()) {
+            simulation.tick(TICK);
+            ticks++;
+        }
+        long bytesPerTick = (threads.getThreadAllocatedBytes(thread) - before) / Math.max(1, ticks);
+        simulation.dispose();
+
+        Assert.assertTrue("Allocated " + bytesPerTick + " bytes per tick, budget is " + BUDGET_BYTES_PER_TICK,
+                bytesPerTick <= BUDGET_BYTES_PER_TICK);
+    }
+}
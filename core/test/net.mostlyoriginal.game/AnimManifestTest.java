@@ -0,0 +1,37 @@
+package net.mostlyoriginal.game;
+
+import net.mostlyoriginal.game.util.AnimManifest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class AnimManifestTest {
+
+    @Test
+    public void When_formatted_Should_parse_to_same_anims()
+    {
+        AnimManifest manifest = new AnimManifest();
+        manifest.anims.add(new AnimManifest.Anim("visitor_happy1", 0.09f, new int[]{
+                0, 0, 20, 36, 2, 0, 24, 38,
+                21, 0, 19, 37, 3, 1, 24, 38}));
+        manifest.anims.add(new AnimManifest.Anim("coin_0", 0.5f, new int[]{40, 0, 1, 1, 0, 0, 16, 16}));
+
+        AnimManifest parsed = AnimManifest.parse(manifest.format());
+
+        Assert.assertEquals(2, parsed.anims.size);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(manifest.anims.get(i).id, parsed.anims.get(i).id);
+            Assert.assertEquals(manifest.anims.get(i).frameDuration, parsed.anims.get(i).frameDuration, 0f);
+            Assert.assertArrayEquals(manifest.anims.get(i).frames, parsed.anims.get(i).frames);
+        }
+        Assert.assertEquals(2, parsed.anims.get(0).frameCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void When_frames_missing_Should_fail()
+    {
+        AnimManifest.parse("coin_0 0.5 2 40 0 1 1 0 0 16 16\n");
+    }
+}
@@ -0,0 +1,50 @@
+package net.mostlyoriginal.game;
+
+import com.artemis.BaseSystem;
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+import net.mostlyoriginal.game.system.common.FixedStepInvocationStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class FixedStepInvocationStrategyTest {
+
+    private static final float TICK = 1f / 60f;
+
+    private final BaseSystem logic = new BaseSystem() {
+        @Override
+        protected void processSystem() {
+        }
+    };
+    private final FixedStepInvocationStrategy strategy = new FixedStepInvocationStrategy(TICK, new MetricsRegistry(), logic);
+    private final World world = new World(new WorldConfigurationBuilder().with(logic).register(strategy).build());
+
+    private long frame(float delta) {
+        long before = strategy.getTicks();
+        world.setDelta(delta);
+        world.process();
+        return strategy.getTicks() - before;
+    }
+
+    @Test
+    public void When_slow_frame_at_high_speed_Should_drop_ticks_beyond_limit()
+    {
+        strategy.setSpeed(FixedStepInvocationStrategy.MAX_SPEED);
+        Assert.assertEquals(FixedStepInvocationStrategy.MAX_TICKS_PER_FRAME, frame(1f));
+        // no backlog carried into the next frame.
+        Assert.assertTrue(frame(TICK) <= FixedStepInvocationStrategy.MAX_SPEED + 1);
+    }
+
+    @Test
+    public void When_speed_set_beyond_maximum_Should_clamp()
+    {
+        strategy.setSpeed(100000f);
+        Assert.assertEquals(FixedStepInvocationStrategy.MAX_SPEED, strategy.getSpeed(), 0f);
+        strategy.setSpeed(-1f);
+        Assert.assertEquals(0f, strategy.getSpeed(), 0f);
+    }
+}
@@ -0,0 +1,145 @@
+package net.mostlyoriginal.game;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.utils.Array;
+import net.mostlyoriginal.api.component.graphics.Render;
+import net.mostlyoriginal.api.system.delegate.EntityProcessAgent;
+import net.mostlyoriginal.game.system.view.LayeredRenderBatchingSystem;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class LayeredRenderBatchingSystemTest {
+
+    private World world;
+    private LayeredRenderBatchingSystem batching;
+    private final Array<String> calls = new Array<String>();
+
+    private class RecordingAgent implements EntityProcessAgent {
+        private final String name;
+
+        RecordingAgent(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void begin() {
+            calls.add("begin " + name);
+        }
+
+        @Override
+        public void end() {
+            calls.add("end " + name);
+        }
+
+        @Override
+        public void process(int entityId) {
+            calls.add(name + entityId);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        batching = new LayeredRenderBatchingSystem();
+        world = new World(new WorldConfigurationBuilder().with(batching).build());
+    }
+
+    private int entity(int layer) {
+        int id = world.create();
+        world.edit(id).create(Render.class).layer = layer;
+        return id;
+    }
+
+    private String frame() {
+        calls.clear();
+        world.process();
+        return calls.toString(", ");
+    }
+
+    @Test
+    public void When_registered_Should_process_by_layer_batching_agents()
+    {
+        EntityProcessAgent anims = new RecordingAgent("a");
+        EntityProcessAgent labels = new RecordingAgent("l");
+        int top = entity(20);
+        int bottom = entity(1);
+        int middle = entity(5);
+        batching.registerAgent(top, anims);
+        batching.registerAgent(bottom, anims);
+        batching.registerAgent(middle, anims);
+        batching.registerAgent(middle, labels);
+
+        Assert.assertEquals("begin a, a" + bottom + ", a" + middle + ", end a, begin l, l" + middle
+                + ", end l, begin a, a" + top + ", end a", frame());
+    }
+
+    @Test
+    public void When_layer_changed_Should_move_entity_between_layers()
+    {
+        EntityProcessAgent anims = new RecordingAgent("a");
+        int first = entity(1);
+        int second = entity(2);
+        batching.registerAgent(first, anims);
+        batching.registerAgent(second, anims);
+
+        world.getMapper(Render.class).get(first).layer = 3;
+        batching.layerChanged(first);
+        Assert.assertEquals("begin a, a" + second + ", a" + first + ", end a", frame());
+
+        world.getMapper(Render.class).get(second).layer = 4;
+        batching.sortedDirty = true;
+        Assert.assertEquals("begin a, a" + first + ", a" + second + ", end a", frame());
+    }
+
+    @Test
+    public void When_unregistered_Should_skip_entity()
+    {
+        EntityProcessAgent anims = new RecordingAgent("a");
+        int first = entity(1);
+        int second = entity(1);
+        batching.registerAgent(first, anims);
+        batching.registerAgent(second, anims);
+        batching.unregisterAgent(first, anims);
+
+        Assert.assertEquals("begin a, a" + second + ", end a", frame());
+        batching.unregisterAgent(second, anims);
+        Assert.assertEquals("", frame());
+    }
+
+    @Test
+    public void When_removed_from_middle_of_layer_Should_keep_order_of_others()
+    {
+        EntityProcessAgent anims = new RecordingAgent("a");
+        int[] ids = new int[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entity(1);
+            batching.registerAgent(ids[i], anims);
+        }
+        batching.unregisterAgent(ids[1], anims);
+
+        Assert.assertEquals("begin a, a" + ids[0] + ", a" + ids[2] + ", a" + ids[3] + ", a" + ids[4] + ", end a", frame());
+    }
+
+    @Test
+    public void When_moved_back_to_layer_Should_return_to_its_place()
+    {
+        EntityProcessAgent anims = new RecordingAgent("a");
+        int first = entity(1);
+        int second = entity(1);
+        int third = entity(1);
+        batching.registerAgent(first, anims);
+        batching.registerAgent(second, anims);
+        batching.registerAgent(third, anims);
+
+        world.getMapper(Render.class).get(second).layer = 0;
+        batching.layerChanged(second);
+        world.getMapper(Render.class).get(second).layer = 1;
+        batching.layerChanged(second);
+
+        Assert.assertEquals("begin a, a" + first + ", a" + second + ", a" + third + ", end a", frame());
+    }
+}
@@ -0,0 +1,60 @@
+package net.mostlyoriginal.game;
+
+import net.mostlyoriginal.game.util.EntitySet;
+import net.mostlyoriginal.game.util.OrderedEntitySet;
+import net.mostlyoriginal.game.util.RandomStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class OrderedEntitySetTest {
+
+    @Test
+    public void When_empty_Should_find_nothing_nearby()
+    {
+        OrderedEntitySet set = new OrderedEntitySet();
+        Assert.assertEquals(EntitySet.MISSING_ENTITY_ID, set.nearest(10));
+        set.order(new int[]{4, 2}, new float[]{0, 100}, 2);
+        Assert.assertEquals(EntitySet.MISSING_ENTITY_ID, set.nearest(10));
+    }
+
+    @Test
+    public void When_members_change_Should_find_same_nearest_as_linear_scan()
+    {
+        RandomStream random = new RandomStream(3);
+        int count = 50;
+        int[] ids = new int[count];
+        float[] xs = new float[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = count * 2 - i * 2;
+            xs[i] = i * 32;
+        }
+
+        OrderedEntitySet set = new OrderedEntitySet();
+        set.add(ids[7]);
+        set.order(ids, xs, count);
+        for (int i = 0; i < 5000; i++) {
+            int slot = random.random(count - 1);
+            if (random.randomBoolean()) set.add(ids[slot]);
+            else set.remove(ids[slot]);
+
+            float x = random.random(-100f, count * 32 + 100f);
+            Assert.assertEquals(nearestByScan(set, ids, xs, x), set.nearest(x));
+        }
+    }
+
+    private int nearestByScan(EntitySet set, int[] ids, float[] xs, float x) {
+        int best = EntitySet.MISSING_ENTITY_ID;
+        float bestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < ids.length; i++) {
+            float distance = Math.abs(xs[i] - x);
+            if (set.contains(ids[i]) && distance < bestDistance) {
+                best = ids[i];
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,217 @@
+package net.mostlyoriginal.game;
+
+import com.artemis.Aspect;
+import com.artemis.BaseSystem;
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.artemis.link.EntityLinkManager;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.LongArray;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+import net.mostlyoriginal.game.replay.ReplayInputService;
+import net.mostlyoriginal.game.replay.ReplayReader;
+import net.mostlyoriginal.game.replay.ReplayWriter;
+import net.mostlyoriginal.game.simulation.Simulation;
+import net.mostlyoriginal.game.system.AudioService;
+import net.mostlyoriginal.game.system.CoinSystem;
+import net.mostlyoriginal.game.system.GameplaySystems;
+import net.mostlyoriginal.game.system.InputService;
+import net.mostlyoriginal.game.system.MetricsSystem;
+import net.mostlyoriginal.game.system.RandomService;
+import net.mostlyoriginal.game.system.common.FixedStepInvocationStrategy;
+import net.mostlyoriginal.game.system.logic.TransitionSystem;
+import net.mostlyoriginal.game.system.view.LayeredRenderBatchingSystem;
+import net.mostlyoriginal.plugin.OperationsPlugin;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class ReplayTest {
+
+    private static final float TICK = 1f / 60f;
+
+    @Test
+    public void When_reading_recording_Should_return_recorded_ticks()
+    {
+        ByteArray bytes = new ByteArray();
+        ReplayWriter writer = writer(bytes);
+        writer.segment(3, -42L, TICK);
+        for (int i = 0; i < 1000; i++) {
+            writer.tick(i == 500 ? TICK * 2 : TICK, i / 100);
+        }
+        writer.segment(4, 7L, TICK);
+        writer.tick(TICK, 1);
+        writer.flush();
+
+        ReplayReader reader = new ReplayReader(bytes.items, bytes.size);
+        Assert.assertTrue(reader.nextSegment());
+        Assert.assertEquals(3, reader.level);
+        Assert.assertEquals(-42L, reader.seed);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(reader.nextTick());
+            Assert.assertEquals(i == 500 ? TICK * 2 : TICK, reader.delta, 0f);
+            Assert.assertEquals(i / 100, reader.state);
+        }
+        Assert.assertFalse(reader.nextTick());
+        Assert.assertTrue(reader.nextSegment());
+        Assert.assertEquals(4, reader.level);
+        Assert.assertTrue(reader.nextTick());
+        Assert.assertFalse(reader.nextSegment());
+    }
+
+    @Test
+    public void When_reading_cut_off_recording_Should_stop_at_last_whole_record()
+    {
+        ByteArray bytes = new ByteArray();
+        ReplayWriter writer = writer(bytes);
+        writer.segment(2, 1L, TICK);
+        writer.tick(TICK, 1);
+        writer.tick(TICK, 1);
+        writer.flush();
+        int whole = bytes.size;
+        writer.tick(TICK, 300);
+        writer.flush();
+
+        for (int length = whole; length < bytes.size; length++) {
+            ReplayReader reader = new ReplayReader(bytes.items, length);
+            Assert.assertTrue(reader.nextSegment());
+            int ticks = 0;
+            while (reader.nextTick()) ticks++;
+            Assert.assertEquals(2, ticks);
+        }
+    }
+
+    @Test
+    public void When_playing_back_recording_Should_play_out_identically()
+    {
+        ByteArray bytes = new ByteArray();
+        ReplayWriter writer = writer(bytes);
+        ScriptedInputService scripted = new ScriptedInputService();
+        scripted.record(writer);
+        Simulation recorded = new Simulation(new GameSession(2), 11, scripted);
+        writer.segment(2, 11, TICK);
+        long expected = fingerprint(recorded);
+        writer.flush();
+
+        ReplayReader reader = new ReplayReader(bytes.items, bytes.size);
+        Assert.assertTrue(reader.nextSegment());
+        ReplayInputService input = new ReplayInputService();
+        Simulation replayed = new Simulation(new GameSession(reader.level), reader.seed, input);
+        long fingerprint = 0;
+        while (reader.nextTick()) {
+            input.next = reader.state;
+            replayed.tick(reader.delta);
+            fingerprint = fingerprint * 31 + replayed.entityCount() + replayed.session.lastScore;
+        }
+        Assert.assertEquals(expected, fingerprint);
+    }
+
+    @Test
+    public void When_playing_back_game_screen_recording_headless_Should_match_every_tick()
+    {
+        ByteArray bytes = new ByteArray();
+        ReplayWriter writer = writer(bytes);
+        ScriptedInputService scripted = new ScriptedInputService();
+        scripted.record(writer);
+        writer.segment(2, 11, TICK);
+
+        // game screen setup without the GL systems, frames of uneven length spent in fixed ticks.
+        GameSession session = new GameSession(2);
+        BaseSystem[] gameplaySystems = GameplaySystems.create(scripted);
+        TickFingerprints recorded = new TickFingerprints(session);
+        BaseSystem[] logicSystems = new BaseSystem[gameplaySystems.length + 1];
+        System.arraycopy(gameplaySystems, 0, logicSystems, 0, gameplaySystems.length);
+        logicSystems[gameplaySystems.length] = recorded;
+        World world = new World(new WorldConfigurationBuilder()
+                .dependsOn(EntityLinkManager.class, OperationsPlugin.class)
+                .with(GameplaySystems.services(new RandomService(11), new AudioService()))
+                .with(logicSystems)
+                .with(new LayeredRenderBatchingSystem(), new TransitionSystem(), new MetricsSystem(new MetricsRegistry(), 0))
+                .register(new FixedStepInvocationStrategy(TICK, new MetricsRegistry(), logicSystems))
+                .build()
+                .register(session));
+        CoinSystem coinSystem = world.getSystem(CoinSystem.class);
+        float[] frames = {0.004f, 0.031f, 0.017f, 0.05f, 0f, 0.0165f};
+        for (int i = 0; recorded.ticks.size < 60 * 60 * 3 && !coinSystem.isFinishing(); i++) {
+            world.setDelta(frames[i % frames.length]);
+            world.process();
+        }
+        world.dispose();
+        writer.flush();
+
+        ReplayReader reader = new ReplayReader(bytes.items, bytes.size);
+        Assert.assertTrue(reader.nextSegment());
+        ReplayInputService input = new ReplayInputService();
+        Simulation replayed = new Simulation(new GameSession(reader.level), reader.seed, input);
+        int tick = 0;
+        while (reader.nextTick()) {
+            input.next = reader.state;
+            replayed.tick(reader.delta);
+            Assert.assertEquals("tick " + tick, recorded.ticks.get(tick), fingerprint(replayed.world, replayed.session));
+            tick++;
+        }
+        replayed.dispose();
+        Assert.assertEquals(recorded.ticks.size, tick);
+    }
+
+    /** Fingerprints the world at the end of every logic tick. */
+    private static class TickFingerprints extends BaseSystem {
+        private final GameSession session;
+        final LongArray ticks = new LongArray();
+
+        TickFingerprints(GameSession session) {
+            this.session = session;
+        }
+
+        @Override
+        protected void processSystem() {
+            ticks.add(fingerprint(world, session));
+        }
+    }
+
+    /** @return hash of live entity ids and score, ids differ as soon as the worlds create different entities. */
+    private static long fingerprint(World world, GameSession session) {
+        IntBag entities = world.getAspectSubscriptionManager().get(Aspect.all()).getEntities();
+        long fingerprint = session.lastScore;
+        for (int i = 0, s = entities.size(); i < s; i++) {
+            fingerprint = fingerprint * 31 + entities.get(i);
+        }
+        return fingerprint;
+    }
+
+    /** Walks the player left and right, cleaning along the way. */
+    private static class ScriptedInputService extends InputService {
+        private int tick;
+
+        @Override
+        protected int poll() {
+            tick++;
+            int state = (tick / 120) % 2 == 0 ? bit(Input.Keys.D) : bit(Input.Keys.A);
+            if (tick % 30 == 0) state |= bit(Input.Keys.SPACE) << JUST_PRESSED_SHIFT;
+            return state;
+        }
+    }
+
+    private long fingerprint(Simulation simulation) {
+        long fingerprint = 0;
+        for (int i = 0; i < 60 * 60 * 3 && !simulation.isFinished(); i++) {
+            simulation.tick(TICK);
+            fingerprint = fingerprint * 31 + simulation.entityCount() + simulation.session.lastScore;
+        }
+        simulation.dispose();
+        return fingerprint;
+    }
+
+    private ReplayWriter writer(final ByteArray bytes) {
+        return new ReplayWriter(new ReplayWriter.Output() {
+            @Override
+            public void write(byte[] data, int length) {
+                bytes.addAll(data, 0, length);
+            }
+        });
+    }
+}
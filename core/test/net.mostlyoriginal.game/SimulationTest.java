@@ -0,0 +1,91 @@
+package net.mostlyoriginal.game;
+
+import com.artemis.Aspect;
+import com.artemis.utils.IntBag;
+import net.mostlyoriginal.game.component.module.Toilet;
+import net.mostlyoriginal.game.component.module.Urinal;
+import net.mostlyoriginal.game.component.state.Dirty;
+import net.mostlyoriginal.game.component.state.InUse;
+import net.mostlyoriginal.game.component.state.Reserved;
+import net.mostlyoriginal.game.simulation.Simulation;
+import net.mostlyoriginal.game.system.FacilityIndexService;
+import net.mostlyoriginal.game.util.EntitySet;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class SimulationTest {
+
+    private static final float TICK = 1f / 60f;
+
+    @Test
+    public void When_simulating_with_same_seed_Should_play_out_identically()
+    {
+        long first = fingerprint(new Simulation(new GameSession(2), 42), 60 * 60 * 3);
+        long second = fingerprint(new Simulation(new GameSession(2), 42), 60 * 60 * 3);
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void When_simulating_on_separate_threads_Should_play_out_like_one_at_a_time() throws InterruptedException
+    {
+        final long expected = fingerprint(new Simulation(new GameSession(2), 7), 60 * 60 * 3);
+        final long[] results = new long[4];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    results[index] = fingerprint(new Simulation(new GameSession(2), 7), 60 * 60 * 3);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (long result : results) {
+            Assert.assertEquals(expected, result);
+        }
+    }
+
+    @Test
+    public void When_facilities_change_state_Should_keep_index_in_sync()
+    {
+        Simulation simulation = new Simulation(new GameSession(2), 42);
+        FacilityIndexService index = simulation.world.getSystem(FacilityIndexService.class);
+        for (int i = 0; i < 60 * 60 * 3 && !simulation.isFinished(); i++) {
+            simulation.tick(TICK);
+            if (i % 60 == 0) {
+                assertSame(simulation, Aspect.all(Toilet.class).exclude(InUse.class, Reserved.class), index.toilets.free);
+                assertSame(simulation, Aspect.all(Toilet.class).exclude(Dirty.class, Reserved.class), index.toilets.clean);
+                assertSame(simulation, Aspect.all(Urinal.class).exclude(Dirty.class, InUse.class, Reserved.class), index.urinals.cleanAndFree);
+                assertSame(simulation, Aspect.all(Urinal.class, Dirty.class), index.urinals.dirty);
+            }
+        }
+        simulation.dispose();
+    }
+
+    private void assertSame(Simulation simulation, Aspect.Builder aspect, EntitySet set) {
+        IntBag expected = simulation.world.getAspectSubscriptionManager().get(aspect).getEntities();
+        Assert.assertEquals(expected.size(), set.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertTrue(set.contains(expected.get(i)));
+        }
+    }
+
+    /** Hash of the entity count after every tick. */
+    private long fingerprint(Simulation simulation, int ticks) {
+        long fingerprint = 0;
+        for (int i = 0; i < ticks && !simulation.isFinished(); i++) {
+            simulation.tick(TICK);
+            fingerprint = fingerprint * 31 + simulation.entityCount();
+        }
+        fingerprint = fingerprint * 31 + simulation.minutesPassed();
+        simulation.dispose();
+        return fingerprint;
+    }
+}
@@ -0,0 +1,77 @@
+package net.mostlyoriginal.game;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import net.mostlyoriginal.game.system.TimerService;
+import net.mostlyoriginal.game.util.RandomStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Daan van Yperen
+ */
+public class TimerServiceTest {
+
+    private static final float TICK = 1f / 60f;
+
+    private final TimerService timerService = new TimerService(TICK);
+    private final World world = new World(new WorldConfigurationBuilder().with(timerService).build());
+    private long ticks = 0;
+    private final long[] firedAt = new long[2000];
+
+    private final TimerService.Listener recorder = new TimerService.Listener() {
+        @Override
+        public void timeout(int entityId) {
+            Assert.assertEquals(0, firedAt[entityId]);
+            firedAt[entityId] = ticks;
+        }
+    };
+
+    @Test
+    public void When_time_passes_Should_fire_each_timer_on_its_tick()
+    {
+        RandomStream random = new RandomStream(5);
+        long[] expected = new long[firedAt.length];
+        for (int i = 0; i < firedAt.length; i++) {
+            // spread over all rings, up to a few hours.
+            int delayTicks = i % 4 == 0 ? random.random(1, 60) : (int) Math.pow(2, random.random(0f, 20f));
+            timerService.schedule(delayTicks * TICK - TICK / 2, i, recorder);
+            expected[i] = ticks + delayTicks;
+            if (i % 10 == 0) tick(random.random(0, 3));
+        }
+        tick(1 << 20);
+        for (int i = 0; i < firedAt.length; i++) {
+            Assert.assertEquals("timer " + i, expected[i], firedAt[i]);
+        }
+        Assert.assertEquals(0, timerService.pending());
+    }
+
+    @Test
+    public void When_beyond_all_rings_Should_still_fire()
+    {
+        timerService.schedule(100 * 60 * 60, 1, recorder);
+        tick(100 * 60 * 60 * 60 + 1);
+        // a float tick is not exactly 1/60s, so a hundred hours are a tick short.
+        Assert.assertEquals(100 * 60 * 60 * 60, firedAt[1], 1);
+    }
+
+    @Test
+    public void When_cancelled_Should_not_fire()
+    {
+        int handle = timerService.schedule(1, 1, recorder);
+        timerService.schedule(1, 2, recorder);
+        timerService.cancel(handle);
+        timerService.cancel(handle);
+        tick(120);
+        Assert.assertEquals(0, firedAt[1]);
+        Assert.assertEquals(60, firedAt[2]);
+    }
+
+    private void tick(int count) {
+        world.setDelta(TICK);
+        for (int i = 0; i < count; i++) {
+            ticks++;
+            world.process();
+        }
+    }
+}
@@ -4,13 +4,50 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import net.mostlyoriginal.game.GameRules;
 import net.mostlyoriginal.game.GdxArtemisGame;
+import net.mostlyoriginal.game.jvm.GcProbe;
+import net.mostlyoriginal.game.jvm.MetricsExporter;
+import net.mostlyoriginal.game.jvm.ReplayFiles;
+import net.mostlyoriginal.game.system.LevelSetupSystem;
+
+import java.io.File;
+import java.io.IOException;
 
 public class DesktopLauncher {
-	public static void main (String[] arg) {
+
+	public static final long METRICS_FILE_INTERVAL_MILLIS = 5000;
+
+	/**
+	 * Options: {@code --metrics-port <port>} serves metrics on localhost,
+	 * {@code --metrics-file <path>} writes them to a file every few seconds,
+	 * {@code --stress <modules> <visitors per burst>} plays a generated stress level and logs frame times,
+	 * {@code --record <path>} appends the input of every played level to a replay file.
+	 */
+	public static void main (String[] arg) throws IOException {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.width = GameRules.SCREEN_WIDTH;
 		config.height = GameRules.SCREEN_HEIGHT;
 		config.title = "I Clean Toilet";
-		new LwjglApplication(new GdxArtemisGame(), config);
+
+		GdxArtemisGame game = new GdxArtemisGame();
+		game.metrics.addProbe(new GcProbe());
+		for (int i = 0; i < arg.length - 1; i++) {
+			if ("--metrics-port".equals(arg[i])) {
+				MetricsExporter.serve(game.metrics, Integer.parseInt(arg[i + 1]));
+			}
+			if ("--metrics-file".equals(arg[i])) {
+				MetricsExporter.writeEvery(game.metrics, new File(arg[i + 1]), METRICS_FILE_INTERVAL_MILLIS);
+			}
+			if ("--record".equals(arg[i])) {
+				game.recorder = ReplayFiles.appendTo(new File(arg[i + 1]));
+			}
+		}
+
+		for (int i = 0; i < arg.length - 2; i++) {
+			if ("--stress".equals(arg[i])) {
+				game.session.customLevel = LevelSetupSystem.Level.stress(Integer.parseInt(arg[i + 1]), Integer.parseInt(arg[i + 2]));
+			}
+		}
+
+		new LwjglApplication(game, config);
 	}
 }
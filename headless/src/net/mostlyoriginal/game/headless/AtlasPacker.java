@@ -0,0 +1,216 @@
+package net.mostlyoriginal.game.headless;
+
+import net.mostlyoriginal.game.util.AnimManifest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trims and packs anim frames from a tileset into a sprite atlas, with an {@link AnimManifest}.
+ *
+ * Usage: {@code AtlasPacker [sources] [tileset] [output]}. Sources list one anim per line, see
+ * {@code sprites/anims.txt}. Writes {@code output.png} and {@code output.txt}.
+ *
+ * Frames shared between anims are packed once. Transparent borders are trimmed, the manifest
+ * keeps the offsets to draw frames where they were.
+ *
+ * @author Daan van Yperen
+ */
+public class AtlasPacker {
+
+    /** Transparent pixels between packed frames. */
+    public static final int PADDING = 1;
+    public static final int MAX_SIZE = 2048;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** Frame in the tileset, trimmed to its opaque pixels. */
+    private static class Frame {
+        int x, y, width, height;
+        int offsetX, offsetY;
+        int originalWidth, originalHeight;
+        int packedX, packedY;
+    }
+
+    private final BufferedImage tileset;
+    private final Map<String, Frame> frames = new HashMap<String, Frame>();
+    private final List<Frame> unique = new ArrayList<Frame>();
+    private int atlasWidth;
+    private int atlasHeight;
+
+    public AtlasPacker(BufferedImage tileset) {
+        this.tileset = tileset;
+    }
+
+    /** @return trimmed frame at region of tileset, shared with earlier anims on the same region. */
+    private Frame frame(int x, int y, int width, int height) {
+        String key = x + "," + y + "," + width + "," + height;
+        Frame frame = frames.get(key);
+        if (frame == null) {
+            frame = trim(x, y, width, height);
+            frames.put(key, frame);
+            unique.add(frame);
+        }
+        return frame;
+    }
+
+    private Frame trim(int x, int y, int width, int height) {
+        int left = width, right = -1, top = height, bottom = -1;
+        for (int py = 0; py < height; py++) {
+            for (int px = 0; px < width; px++) {
+                if ((tileset.getRGB(x + px, y + py) >>> 24) != 0) {
+                    left = Math.min(left, px);
+                    right = Math.max(right, px);
+                    top = Math.min(top, py);
+                    bottom = Math.max(bottom, py);
+                }
+            }
+        }
+
+        Frame frame = new Frame();
+        frame.originalWidth = width;
+        frame.originalHeight = height;
+        if (right < 0) {
+            // fully transparent, keep a single pixel.
+            left = right = top = bottom = 0;
+        }
+        frame.x = x + left;
+        frame.y = y + top;
+        frame.width = right - left + 1;
+        frame.height = bottom - top + 1;
+        frame.offsetX = left;
+        frame.offsetY = height - bottom - 1;
+        return frame;
+    }
+
+    /** Shelf pack all frames into the smallest power of two atlas they fit in. */
+    private void pack() {
+        Collections.sort(unique, new Comparator<Frame>() {
+            @Override
+            public int compare(Frame a, Frame b) {
+                return a.height != b.height ? b.height - a.height : b.width - a.width;
+            }
+        });
+
+        int bestArea = Integer.MAX_VALUE;
+        for (int width = 64; width <= MAX_SIZE; width *= 2) {
+            int height = shelve(width);
+            // on a tie, prefer the squarer atlas.
+            if (height > 0 && height <= MAX_SIZE && (width * height < bestArea
+                    || width * height == bestArea && Math.max(width, height) < Math.max(atlasWidth, atlasHeight))) {
+                bestArea = width * height;
+                atlasWidth = width;
+                atlasHeight = height;
+            }
+        }
+        if (bestArea == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Frames do not fit a " + MAX_SIZE + " atlas.");
+        }
+        shelve(atlasWidth);
+    }
+
+    /** Place frames on shelves of the given width. @return power of two height, or 0 if a frame is too wide. */
+    private int shelve(int width) {
+        int x = 0, y = 0, shelfHeight = 0;
+        for (Frame frame : unique) {
+            if (frame.width > width) return 0;
+            if (x + frame.width > width) {
+                x = 0;
+                y += shelfHeight + PADDING;
+                shelfHeight = 0;
+            }
+            frame.packedX = x;
+            frame.packedY = y;
+            x += frame.width + PADDING;
+            shelfHeight = Math.max(shelfHeight, frame.height);
+        }
+        int height = 1;
+        while (height < y + shelfHeight) height *= 2;
+        return height;
+    }
+
+    private BufferedImage draw() {
+        BufferedImage atlas = new BufferedImage(atlasWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB);
+        for (Frame frame : unique) {
+            for (int py = 0; py < frame.height; py++) {
+                for (int px = 0; px < frame.width; px++) {
+                    atlas.setRGB(frame.packedX + px, frame.packedY + py, tileset.getRGB(frame.x + px, frame.y + py));
+                }
+            }
+        }
+        return atlas;
+    }
+
+    private static int[] regions(List<Frame> frames) {
+        int[] regions = new int[frames.size() * AnimManifest.FRAME_STRIDE];
+        int i = 0;
+        for (Frame frame : frames) {
+            regions[i++] = frame.packedX;
+            regions[i++] = frame.packedY;
+            regions[i++] = frame.width;
+            regions[i++] = frame.height;
+            regions[i++] = frame.offsetX;
+            regions[i++] = frame.offsetY;
+            regions[i++] = frame.originalWidth;
+            regions[i++] = frame.originalHeight;
+        }
+        return regions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File sources = new File(args.length > 0 ? args[0] : "sprites/anims.txt");
+        File tilesetFile = new File(args.length > 1 ? args[1] : "android/assets/tileset.png");
+        String output = args.length > 2 ? args[2] : "android/assets/sprites";
+
+        AtlasPacker packer = new AtlasPacker(ImageIO.read(tilesetFile));
+
+        List<String> ids = new ArrayList<String>();
+        List<Float> durations = new ArrayList<Float>();
+        List<List<Frame>> animFrames = new ArrayList<List<Frame>>();
+        int sourcePixels = 0;
+        for (String line : Files.readAllLines(sources.toPath(), UTF8)) {
+            line = line.trim();
+            if (line.length() == 0 || line.startsWith("#")) continue;
+            String[] tokens = line.split("\\s+");
+            int x = Integer.parseInt(tokens[1]);
+            int y = Integer.parseInt(tokens[2]);
+            int width = Integer.parseInt(tokens[3]);
+            int height = Integer.parseInt(tokens[4]);
+            int count = Integer.parseInt(tokens[5]);
+
+            List<Frame> frames = new ArrayList<Frame>();
+            for (int i = 0; i < count; i++) {
+                frames.add(packer.frame(x + i * width, y, width, height));
+            }
+            ids.add(tokens[0]);
+            durations.add(Float.parseFloat(tokens[6]));
+            animFrames.add(frames);
+        }
+        for (Frame frame : packer.unique) {
+            sourcePixels += frame.originalWidth * frame.originalHeight;
+        }
+
+        packer.pack();
+
+        AnimManifest manifest = new AnimManifest();
+        for (int i = 0; i < ids.size(); i++) {
+            manifest.anims.add(new AnimManifest.Anim(ids.get(i), durations.get(i), regions(animFrames.get(i))));
+        }
+
+        ImageIO.write(packer.draw(), "png", new File(output + ".png"));
+        Files.write(new File(output + ".txt").toPath(), manifest.format().getBytes(UTF8));
+
+        System.out.println(String.format("packed %d anims, %d unique frames into %dx%d (%d source pixels).",
+                ids.size(), packer.unique.size(), packer.atlasWidth, packer.atlasHeight, sourcePixels));
+    }
+}
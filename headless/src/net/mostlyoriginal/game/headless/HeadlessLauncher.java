@@ -0,0 +1,66 @@
+package net.mostlyoriginal.game.headless;
+
+import net.mostlyoriginal.game.GameRules;
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.jvm.GcProbe;
+import net.mostlyoriginal.game.simulation.Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a level without graphics, audio or window and reports throughput.
+ *
+ * Usage: {@code HeadlessLauncher [level] [minutes] [seed]}, where minutes is simulated play time.
+ * Defaults to level 2 for 10 minutes, the tutorial level never spawns visitors without a player.
+ * Runs with the same seed play out identically. Pass {@code --metrics} to print all metrics afterwards.
+ *
+ * @author Daan van Yperen
+ */
+public class HeadlessLauncher {
+
+    public static final float TICK = GameRules.LOGIC_STEP;
+
+    public static void main(String[] arguments) {
+        List<String> flags = new ArrayList<>();
+        List<String> positional = new ArrayList<>();
+        for (String argument : arguments) {
+            (argument.startsWith("--") ? flags : positional).add(argument);
+        }
+        String[] args = positional.toArray(new String[positional.size()]);
+
+        int level = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        float minutes = args.length > 1 ? Float.parseFloat(args[1]) : 10;
+
+        GameSession session = new GameSession(level);
+        Simulation simulation = args.length > 2 ? new Simulation(session, Long.parseLong(args[2])) : new Simulation(session);
+        simulation.metrics.addProbe(new GcProbe());
+
+        long ticksToRun = (long) (minutes * 60f / TICK);
+        long start = System.nanoTime();
+        while (simulation.ticks < ticksToRun && !simulation.isFinished()) {
+            simulation.tick(TICK);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1e9d;
+        System.out.println(String.format("level %d, seed %d: %s after %.1f simulated minutes (%d in-game minutes).",
+                level,
+                simulation.getSeed(),
+                simulation.isFinished() ? (simulation.isWon() ? "won" : "lost") : "still running",
+                simulation.age / 60f,
+                simulation.minutesPassed()));
+        System.out.println(String.format("%d ticks in %.2fs: %.0f ticks/s, %.1fx real time, %d entities alive.",
+                simulation.ticks,
+                seconds,
+                simulation.ticks / seconds,
+                simulation.age / seconds,
+                simulation.entityCount()));
+
+        if (flags.contains("--metrics")) {
+            System.out.print(simulation.metrics.format());
+        }
+
+        simulation.dispose();
+    }
+}
@@ -0,0 +1,145 @@
+package net.mostlyoriginal.game.headless;
+
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.simulation.Simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many full days of a level side by side and estimates the chance of losing.
+ *
+ * Usage: {@code MonteCarlo [level] [runs] [seed] [random|nearest]}, the last picking the
+ * {@link GameSession.TargetPolicy} of visitors. Run {@code i} is seeded with {@code seed + i}, so
+ * results are reproducible whatever the number of cores. Each run gets its own world and
+ * {@link GameSession}, and runs are spread over all cores with a fork-join pool.
+ *
+ * Days are cut off after {@link #MAX_MINUTES} simulated minutes, and reported as unfinished. The
+ * mean score only counts finished days.
+ *
+ * @author Daan van Yperen
+ */
+public class MonteCarlo {
+
+    public static final float TICK = HeadlessLauncher.TICK;
+    public static final float MAX_MINUTES = 60;
+    /** Runs per fork-join task, below this runs are not split further. */
+    public static final int RUNS_PER_TASK = 4;
+
+    /** Outcomes of a range of runs. */
+    public static class Outcome {
+        public int won;
+        public int lost;
+        public int unfinished;
+        /** Coins of finished runs. */
+        public long score;
+        public long ticks;
+
+        public int runs() {
+            return finished() + unfinished;
+        }
+
+        public int finished() {
+            return won + lost;
+        }
+
+        Outcome add(Outcome other) {
+            won += other.won;
+            lost += other.lost;
+            unfinished += other.unfinished;
+            score += other.score;
+            ticks += other.ticks;
+            return this;
+        }
+    }
+
+    /** Plays runs {@code from} until {@code to}, splitting the range while it is large. */
+    private static class Runs extends RecursiveTask<Outcome> {
+
+        private final int level;
+        private final GameSession.TargetPolicy policy;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        Runs(int level, GameSession.TargetPolicy policy, long seed, int from, int to) {
+            this.level = level;
+            this.policy = policy;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Outcome compute() {
+            if (to - from <= RUNS_PER_TASK) {
+                Outcome outcome = new Outcome();
+                for (int i = from; i < to; i++) {
+                    play(seed + i, outcome);
+                }
+                return outcome;
+            }
+
+            int middle = (from + to) >>> 1;
+            Runs left = new Runs(level, policy, seed, from, middle);
+            left.fork();
+            Outcome right = new Runs(level, policy, seed, middle, to).compute();
+            return right.add(left.join());
+        }
+
+        private void play(long seed, Outcome outcome) {
+            GameSession session = new GameSession(level);
+            session.targetPolicy = policy;
+            // sessions start without a score, count coins from zero.
+            session.lastScore = 0;
+            Simulation simulation = new Simulation(session, seed);
+            long maxTicks = (long) (MAX_MINUTES * 60f / TICK);
+            while (simulation.ticks < maxTicks && !simulation.isFinished()) {
+                simulation.tick(TICK);
+            }
+
+            if (!simulation.isFinished()) {
+                outcome.unfinished++;
+            } else {
+                if (simulation.isWon()) {
+                    outcome.won++;
+                } else {
+                    outcome.lost++;
+                }
+                outcome.score += session.lastScore;
+            }
+            outcome.ticks += simulation.ticks;
+            simulation.dispose();
+        }
+    }
+
+    public static Outcome run(int level, GameSession.TargetPolicy policy, int runs, long seed, ForkJoinPool pool) {
+        return pool.invoke(new Runs(level, policy, seed, 0, runs));
+    }
+
+    public static void main(String[] args) {
+        int level = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        GameSession.TargetPolicy policy = args.length > 3
+                ? GameSession.TargetPolicy.valueOf(args[3].toUpperCase())
+                : GameSession.TargetPolicy.RANDOM;
+
+        ForkJoinPool pool = new ForkJoinPool();
+        long start = System.nanoTime();
+        Outcome outcome = run(level, policy, runs, seed, pool);
+        double seconds = (System.nanoTime() - start) / 1e9d;
+        pool.shutdown();
+
+        double loss = (double) outcome.lost / outcome.runs();
+        // normal approximation of the 95% confidence interval.
+        double margin = 1.96 * Math.sqrt(loss * (1 - loss) / outcome.runs());
+
+        System.out.println(String.format("level %d, %s targets, %d runs from seed %d on %d threads in %.1fs (%.0f ticks/s).",
+                level, policy.name().toLowerCase(), outcome.runs(), seed, pool.getParallelism(), seconds, outcome.ticks / seconds));
+        System.out.println(String.format("won %d, lost %d, unfinished after %.0f minutes %d.",
+                outcome.won, outcome.lost, MAX_MINUTES, outcome.unfinished));
+        System.out.println(String.format("loss probability %.3f +/- %.3f, mean score of finished days %.1f.",
+                loss, margin, outcome.finished() > 0 ? (double) outcome.score / outcome.finished() : 0d));
+    }
+}
@@ -0,0 +1,78 @@
+package net.mostlyoriginal.game.headless;
+
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.jvm.ReplayFiles;
+import net.mostlyoriginal.game.replay.ReplayInputService;
+import net.mostlyoriginal.game.replay.ReplayReader;
+import net.mostlyoriginal.game.simulation.Simulation;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Plays back a recorded session tick by tick through the gameplay systems, and reports the slowest ticks.
+ *
+ * Usage: {@code ReplayPlayer <file> [passes]}. Each pass replays the whole file, so a hitch can be
+ * profiled as often as needed. Record a session with {@code desktop:run -Pargs="--record <file>"}.
+ *
+ * @author Daan van Yperen
+ */
+public class ReplayPlayer {
+
+    public static final int SLOWEST_TICKS = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ReplayPlayer <file> [passes]");
+            return;
+        }
+        byte[] bytes = ReplayFiles.read(new File(args[0]));
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        for (int pass = 1; pass <= passes; pass++) {
+            System.out.println("pass " + pass + ":");
+            ReplayReader reader = new ReplayReader(bytes);
+            while (reader.nextSegment()) {
+                play(reader);
+            }
+        }
+    }
+
+    private static void play(ReplayReader reader) {
+        ReplayInputService input = new ReplayInputService();
+        Simulation simulation = new Simulation(new GameSession(reader.level), reader.seed, input);
+
+        long[] slowestTicks = new long[SLOWEST_TICKS];
+        long[] slowestNanos = new long[SLOWEST_TICKS];
+        long start = System.nanoTime();
+        while (reader.nextTick()) {
+            input.next = reader.state;
+            long tickStart = System.nanoTime();
+            simulation.tick(reader.delta);
+            insert(slowestTicks, slowestNanos, reader.ticks, System.nanoTime() - tickStart);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9d;
+
+        System.out.println(String.format("  level %d, seed %d: %d ticks in %.2fs, %s, %d coins.",
+                reader.level, reader.seed, simulation.ticks, seconds,
+                simulation.isFinished() ? (simulation.isWon() ? "won" : "lost") : "unfinished",
+                simulation.session.lastScore));
+        for (int i = 0; i < SLOWEST_TICKS && slowestNanos[i] > 0; i++) {
+            System.out.println(String.format("    tick %d took %.3fms", slowestTicks[i], slowestNanos[i] / 1e6d));
+        }
+        simulation.dispose();
+    }
+
+    /** Keep the slowest ticks, slowest first. */
+    private static void insert(long[] ticks, long[] nanos, long tick, long duration) {
+        for (int i = 0; i < nanos.length; i++) {
+            if (duration > nanos[i]) {
+                System.arraycopy(ticks, i, ticks, i + 1, ticks.length - i - 1);
+                System.arraycopy(nanos, i, nanos, i + 1, nanos.length - i - 1);
+                ticks[i] = tick;
+                nanos[i] = duration;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package net.mostlyoriginal.game.headless;
+
+import net.mostlyoriginal.game.GameSession;
+import net.mostlyoriginal.game.metrics.ScalingReport;
+import net.mostlyoriginal.game.simulation.Simulation;
+import net.mostlyoriginal.game.system.LevelSetupSystem;
+
+/**
+ * Plays generated stress levels of growing size and reports tick time against entity count.
+ *
+ * Usage: {@code StressReport [minutes] [seed]}, where minutes is simulated play time per level.
+ * Measures gameplay systems only, run the game with {@code --stress} to include rendering.
+ *
+ * @author Daan van Yperen
+ */
+public class StressReport {
+
+    public static final float TICK = HeadlessLauncher.TICK;
+    public static final int ENTITIES_PER_ROW = 250;
+
+    /** Module count and visitors per burst for each run. */
+    public static final int[][] SIZES = {
+            {25, 10},
+            {50, 25},
+            {100, 50},
+            {200, 100},
+            {400, 200},
+            {800, 400}
+    };
+
+    public static void main(String[] args) {
+        float minutes = args.length > 0 ? Float.parseFloat(args[0]) : 5;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        ScalingReport report = new ScalingReport("tick time by entity count, all runs", ENTITIES_PER_ROW);
+        long ticksToRun = (long) (minutes * 60f / TICK);
+
+        for (int[] size : SIZES) {
+            LevelSetupSystem.Level level = LevelSetupSystem.Level.stress(size[0], size[1]);
+            Simulation simulation = new Simulation(new GameSession(level), seed);
+
+            int peakEntities = 0;
+            long start = System.nanoTime();
+            while (simulation.ticks < ticksToRun && !simulation.isFinished()) {
+                long tickStart = System.nanoTime();
+                simulation.tick(TICK);
+                int entities = simulation.entityCount();
+                report.record(entities, System.nanoTime() - tickStart);
+                peakEntities = Math.max(peakEntities, entities);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9d;
+
+            System.out.println(String.format("%s: %d ticks in %.2fs, %.0f ticks/s, peak %d entities.",
+                    level.name, simulation.ticks, seconds, simulation.ticks / seconds, peakEntities));
+            simulation.dispose();
+        }
+
+        System.out.println();
+        System.out.print(report.format());
+    }
+}
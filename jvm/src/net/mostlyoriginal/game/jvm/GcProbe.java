@@ -0,0 +1,43 @@
+package net.mostlyoriginal.game.jvm;
+
+import net.mostlyoriginal.game.metrics.MetricsProbe;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Records garbage collections and their pauses, per collector.
+ *
+ * The JVM only reports totals, so collections seen between two samples are recorded at their
+ * average pause. Sample every frame to keep that close to the real pause.
+ *
+ * @author Daan van Yperen
+ */
+public class GcProbe implements MetricsProbe {
+
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long[] lastCount = new long[collectors.size()];
+    private final long[] lastTime = new long[collectors.size()];
+
+    @Override
+    public void sample(MetricsRegistry registry) {
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            long count = collector.getCollectionCount();
+            long time = collector.getCollectionTime();
+            if (count <= lastCount[i]) continue;
+
+            long collections = count - lastCount[i];
+            long pause = (time - lastTime[i]) / collections;
+            lastCount[i] = count;
+            lastTime[i] = time;
+
+            registry.counter("gc_collections_total", "collector", collector.getName()).inc(collections);
+            for (int c = 0; c < collections; c++) {
+                registry.histogram("gc_pause_millis", "collector", collector.getName()).record(pause);
+            }
+        }
+    }
+}
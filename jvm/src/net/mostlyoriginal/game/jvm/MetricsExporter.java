@@ -0,0 +1,79 @@
+package net.mostlyoriginal.game.jvm;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import net.mostlyoriginal.game.metrics.MetricsRegistry;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Exposes the last published metrics snapshot as plain text, over localhost or to a file.
+ *
+ * Only reads {@link MetricsRegistry#getSnapshot()}, so it never touches the live metrics
+ * the game thread is recording into.
+ *
+ * @author Daan van Yperen
+ */
+public class MetricsExporter {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Serve metrics on {@code http://localhost:port/metrics}.
+     */
+    public static HttpServer serve(final MetricsRegistry registry, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = registry.getSnapshot().getBytes(UTF8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+     * Rewrite file with the latest snapshot every interval, until the JVM exits.
+     */
+    public static Timer writeEvery(final MetricsRegistry registry, final File file, long intervalMillis) {
+        Timer timer = new Timer("metrics-file-exporter", true);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    write(registry.getSnapshot(), file);
+                } catch (IOException e) {
+                    System.err.println("Failed to write metrics to " + file + ": " + e.getMessage());
+                }
+            }
+        }, intervalMillis, intervalMillis);
+        return timer;
+    }
+
+    /** Write text to a temporary file first, so readers never see half a snapshot. */
+    public static void write(String text, File file) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(text.getBytes(UTF8));
+        }
+        if (!temp.renameTo(file)) {
+            file.delete();
+            if (!temp.renameTo(file)) throw new IOException("Could not replace " + file);
+        }
+    }
+}
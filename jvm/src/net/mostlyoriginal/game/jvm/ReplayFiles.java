@@ -0,0 +1,37 @@
+package net.mostlyoriginal.game.jvm;
+
+import net.mostlyoriginal.game.replay.ReplayWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * Replay streams on disk.
+ *
+ * @author Daan van Yperen
+ */
+public class ReplayFiles {
+
+    /** @return writer that appends to the given file, creating it when missing. */
+    public static ReplayWriter appendTo(final File file) throws IOException {
+        final OutputStream out = new FileOutputStream(file, true);
+        return new ReplayWriter(new ReplayWriter.Output() {
+            @Override
+            public void write(byte[] bytes, int length) {
+                try {
+                    out.write(bytes, 0, length);
+                    out.flush();
+                } catch (IOException e) {
+                    throw new RuntimeException("Unable to write replay " + file, e);
+                }
+            }
+        });
+    }
+
+    public static byte[] read(File file) throws IOException {
+        return Files.readAllBytes(file.toPath());
+    }
+}